@@ -0,0 +1,61 @@
+package benchmark;
+
+import model.Flight;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic schedules shared by the benchmarks
+ */
+final class BenchmarkData {
+    static final String[] CITIES = {
+        "Karachi", "Lahore", "Islamabad", "Peshawar", "Quetta", "Multan", "Faisalabad", "Sialkot",
+        "Dubai", "Doha", "Jeddah", "Riyadh", "Istanbul", "London", "Manchester", "Paris",
+        "Frankfurt", "Amsterdam", "New York", "Toronto", "Chicago", "Los Angeles", "Beijing", "Bangkok",
+        "Kuala Lumpur", "Singapore", "Tokyo", "Sydney", "Melbourne", "Muscat", "Bahrain", "Kuwait"
+    };
+    static final String[] AIRLINES = {"PIA", "AirBlue", "SereneAir", "Emirates", "Qatar", "Turkish"};
+    static final LocalDateTime SCHEDULE_START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    static final int SALES_WINDOW_DAYS = 330;
+
+    // A small set of hub routes carries most flights, like a real network
+    static final String HUB_SOURCE = "Karachi";
+    static final String HUB_DESTINATION = "Lahore";
+
+    private BenchmarkData() {
+    }
+
+    static List<Flight> flights(int count, long seed) {
+        Random random = new Random(seed);
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String source;
+            String destination;
+            if (random.nextInt(10) == 0) {
+                source = HUB_SOURCE;
+                destination = HUB_DESTINATION;
+            } else {
+                source = CITIES[random.nextInt(CITIES.length)];
+                do {
+                    destination = CITIES[random.nextInt(CITIES.length)];
+                } while (destination.equals(source));
+            }
+            LocalDateTime departure = SCHEDULE_START
+                    .plusDays(random.nextInt(SALES_WINDOW_DAYS))
+                    .plusMinutes(random.nextInt(24 * 60));
+            LocalDateTime arrival = departure.plusMinutes(45 + random.nextInt(14 * 60));
+            int seats = 50 + random.nextInt(350);
+            double price = 50 + random.nextInt(95_000) / 100.0;
+            flights.add(new Flight("FL" + i, source, destination, departure, arrival,
+                    seats, price, AIRLINES[random.nextInt(AIRLINES.length)]));
+        }
+        return flights;
+    }
+
+    static LocalDateTime travelDate(Random random) {
+        return SCHEDULE_START.plusDays(random.nextInt(SALES_WINDOW_DAYS)).plusHours(10);
+    }
+}
\ No newline at end of file
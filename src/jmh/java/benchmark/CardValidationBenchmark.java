@@ -0,0 +1,49 @@
+package benchmark;
+
+import model.Payment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with "-prof gc" to see the allocation rate of the checkout validation path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardValidationBenchmark {
+
+    @Param({"4532015112830366", "4532-0151-1283-0366", "378282246310005"})
+    private String cardNumber;
+
+    private String cvv = "123";
+    private String expiryDate = "12/30";
+
+    @Benchmark
+    public boolean isValidCardNumber() {
+        return Payment.isValidCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public boolean isValidCVV() {
+        return Payment.isValidCVV(cvv);
+    }
+
+    @Benchmark
+    public boolean isValidExpiryDate() {
+        return Payment.isValidExpiryDate(expiryDate);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package benchmark;
+
+import model.Flight;
+import model.Itinerary;
+import service.ConnectionSearchEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConnectionSearchBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "100000", "500000"})
+    private int flights;
+
+    @Param({"1", "2"})
+    private int maxStops;
+
+    private ConnectionSearchEngine connectionSearch;
+    private LocalDateTime[] travelDates;
+    private String[] destinations;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void loadSchedule() {
+        connectionSearch = new ConnectionSearchEngine();
+        for (Flight flight : BenchmarkData.flights(flights, 42)) {
+            connectionSearch.addFlight(flight);
+        }
+        Random random = new Random(7);
+        travelDates = new LocalDateTime[QUERIES];
+        destinations = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            travelDates[i] = BenchmarkData.travelDate(random);
+            do {
+                destinations[i] = BenchmarkData.CITIES[random.nextInt(BenchmarkData.CITIES.length)];
+            } while (destinations[i].equals(BenchmarkData.HUB_SOURCE));
+        }
+        // build the timetable outside the measurement
+        connectionSearch.searchItineraries(BenchmarkData.HUB_SOURCE, destinations[0], travelDates[0], maxStops);
+    }
+
+    @Benchmark
+    public List<Itinerary> searchItineraries() {
+        query = (query + 1) & (QUERIES - 1);
+        return connectionSearch.searchItineraries(BenchmarkData.HUB_SOURCE, destinations[query],
+                travelDates[query], maxStops);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package benchmark;
+
+import model.Flight;
+import service.FlightQuery;
+import service.FlightSearchEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FlightSearchBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int flights;
+
+    private FlightSearchEngine searchEngine;
+    // Queries are precomputed so the measured methods only run the lookup
+    private LocalDateTime[] travelDates;
+    private String[] flightIds;
+    private FlightQuery[] flightQueries;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void loadSchedule() {
+        searchEngine = new FlightSearchEngine();
+        for (Flight flight : BenchmarkData.flights(flights, 42)) {
+            searchEngine.addFlight(flight);
+        }
+        Random random = new Random(7);
+        travelDates = new LocalDateTime[QUERIES];
+        flightIds = new String[QUERIES];
+        flightQueries = new FlightQuery[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            travelDates[i] = BenchmarkData.travelDate(random);
+            flightIds[i] = "FL" + random.nextInt(flights);
+            flightQueries[i] = new FlightQuery(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                    travelDates[i].toLocalDate(), travelDates[i].toLocalDate().plusDays(6))
+                    .airlines("PIA", "Airblue")
+                    .priceBetween(100.0, 400.0)
+                    .departingBetween(LocalTime.of(6, 0), LocalTime.of(14, 0))
+                    .maxDuration(Duration.ofHours(4));
+        }
+    }
+
+    private int nextQuery() {
+        query = (query + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    public List<Flight> searchFlights() {
+        return searchEngine.searchFlights(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                travelDates[nextQuery()]);
+    }
+
+    @Benchmark
+    public List<Flight> searchFlightsByAirline() {
+        return searchEngine.searchFlightsByAirline(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                travelDates[nextQuery()], "PIA");
+    }
+
+    @Benchmark
+    public List<Flight> searchFlightsByPriceRange() {
+        return searchEngine.searchFlightsByPriceRange(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                travelDates[nextQuery()], 100.0, 400.0);
+    }
+
+    @Benchmark
+    public List<Flight> cheapestFlights() {
+        return searchEngine.cheapestFlights(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                travelDates[nextQuery()], 5);
+    }
+
+    @Benchmark
+    public List<Flight> searchFlightsBySeatsAvailable() {
+        return searchEngine.searchFlightsBySeatsAvailable(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                travelDates[nextQuery()], 200);
+    }
+
+    @Benchmark
+    public List<Flight> searchFlightsDepartingBetween() {
+        // overnight window: 22:00 on the travel date to 06:00 the next morning
+        LocalDateTime evening = travelDates[nextQuery()].withHour(22);
+        return searchEngine.searchFlightsDepartingBetween(BenchmarkData.HUB_SOURCE, BenchmarkData.HUB_DESTINATION,
+                evening, evening.plusHours(8));
+    }
+
+    @Benchmark
+    public List<Flight> searchQuery() {
+        return searchEngine.search(flightQueries[nextQuery()]);
+    }
+
+    @Benchmark
+    public Flight findFlightById() {
+        return searchEngine.findFlightById(flightIds[nextQuery()]);
+    }
+}
\ No newline at end of file
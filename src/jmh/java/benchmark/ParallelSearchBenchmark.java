@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.Flight;
+import service.FlightSearchEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Analytics scans on the search pool. parallelism=1 runs on the calling thread, so it
+ * is the sequential baseline for the speedup of the other settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelSearchBenchmark {
+
+    @Param({"1000000"})
+    private int flights;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    private FlightSearchEngine searchEngine;
+    private LocalDate monthStart;
+    private Predicate<Flight> morningBargains;
+
+    @Setup(Level.Trial)
+    public void loadSchedule() {
+        searchEngine = new FlightSearchEngine();
+        for (Flight flight : BenchmarkData.flights(flights, 42)) {
+            searchEngine.addFlight(flight);
+        }
+        if (parallelism > 1) {
+            searchEngine.enableParallelSearch(parallelism);
+        }
+        monthStart = BenchmarkData.SCHEDULE_START.toLocalDate().plusMonths(3);
+        morningBargains = f -> f.getPricePerSeat() < 150
+                && f.getDepartureTime().getHour() < 10
+                && f.getFlightDuration() <= 180
+                && f.getAvailableSeats() > 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        searchEngine.disableParallelSearch();
+    }
+
+    @Benchmark
+    public List<Flight> findFlights() {
+        return searchEngine.findFlights(morningBargains);
+    }
+
+    @Benchmark
+    public List<Flight> hubMonth() {
+        return searchEngine.searchFlightsFrom(BenchmarkData.HUB_SOURCE, monthStart, monthStart.plusMonths(1).minusDays(1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package benchmark;
+
+import model.Payment;
+import service.PaymentProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PaymentBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int payments;
+
+    private PaymentProcessor paymentProcessor;
+    private int reservation;
+
+    // Rebuilt per iteration so the store does not keep growing across iterations
+    @Setup(Level.Iteration)
+    public void loadPayments() {
+        paymentProcessor = new PaymentProcessor();
+        for (int i = 0; i < payments; i++) {
+            paymentProcessor.processPayment("RES" + i, 5000.0, "4532015112830366", "123", "12/30");
+        }
+    }
+
+    @Benchmark
+    public Payment processPayment() {
+        reservation = (reservation + 1) % payments;
+        return paymentProcessor.processPayment("RES" + reservation, 5000.0, "4532015112830366", "123", "12/30");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package benchmark;
+
+import model.Flight;
+import model.Passenger;
+import model.Reservation;
+import service.ReservationManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ReservationBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int reservations;
+
+    private ReservationManager reservationManager;
+    private List<Flight> flights;
+    private Passenger passenger;
+    private String[] reservationIds;
+    private String[] passengerEmails;
+    private int query;
+
+    // Rebuilt per iteration so the store does not keep growing across iterations
+    @Setup(Level.Iteration)
+    public void loadReservations() {
+        reservationManager = new ReservationManager();
+        flights = BenchmarkData.flights(1000, 42);
+        Flight bulk = new Flight("BULK", "Karachi", "Lahore", BenchmarkData.SCHEDULE_START,
+                BenchmarkData.SCHEDULE_START.plusHours(2), Integer.MAX_VALUE, 5000, "PIA");
+        flights.add(bulk);
+        for (int i = 0; i < reservations; i++) {
+            Reservation reservation = reservationManager.createReservation(flights.get(i % flights.size()));
+            reservationManager.addPassengerToReservation(reservation, new Passenger("P" + i, "Ahmed", "Khan",
+                    "passenger" + (i % 50_000) + "@example.com", "03001234567", 30));
+        }
+        passenger = new Passenger("P-BENCH", "Fatima", "Ali", "fatima@example.com", "03009876543", 35);
+
+        Random random = new Random(7);
+        reservationIds = new String[QUERIES];
+        passengerEmails = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            reservationIds[i] = "RES" + (1001 + random.nextInt(reservations));
+            passengerEmails[i] = "passenger" + random.nextInt(Math.min(reservations, 50_000)) + "@example.com";
+        }
+    }
+
+    private int nextQuery() {
+        query = (query + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    public Reservation createReservation() {
+        return reservationManager.createReservation(flights.get(nextQuery() % flights.size()));
+    }
+
+    @Benchmark
+    public boolean confirmReservation() {
+        Reservation reservation = reservationManager.createReservation(flights.get(flights.size() - 1));
+        reservationManager.addPassengerToReservation(reservation, passenger);
+        return reservationManager.confirmReservation(reservation, "PAY" + query);
+    }
+
+    @Benchmark
+    public Reservation findReservationById() {
+        return reservationManager.findReservationById(reservationIds[nextQuery()]);
+    }
+
+    @Benchmark
+    public List<Reservation> getReservationsByPassenger() {
+        return reservationManager.getReservationsByPassenger(passengerEmails[nextQuery()]);
+    }
+}
\ No newline at end of file
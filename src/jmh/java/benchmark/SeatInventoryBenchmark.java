@@ -0,0 +1,151 @@
+package benchmark;
+
+import model.Flight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the CAS seat counter as threads are added. Every operation books one
+ * seat and gives it back, so the flights never sell out.
+ * <p>
+ * ownFlight gives every thread its own flight and should scale with the core count;
+ * hotFlight has all threads hammer one flight, and lockedHotFlight does the same under
+ * one global lock, the design the CAS counter replaced. Compare the ops/us of one
+ * variant across its thread counts; runs above the machine's core count only measure
+ * time slicing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatInventoryBenchmark {
+
+    private final Object globalLock = new Object();
+    private Flight hotFlight;
+
+    @Setup
+    public void createFlight() {
+        hotFlight = flight("HOT");
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadFlight {
+        private Flight flight;
+
+        @Setup
+        public void createFlight() {
+            flight = flight("OWN-" + Thread.currentThread().getId());
+        }
+    }
+
+    private static Flight flight(String flightId) {
+        return new Flight(flightId, "Karachi", "Lahore", BenchmarkData.SCHEDULE_START,
+                BenchmarkData.SCHEDULE_START.plusHours(2), 1_000, 5000, "PIA");
+    }
+
+    private static boolean bookAndCancel(Flight flight) {
+        boolean booked = flight.bookSeats(1);
+        if (booked) {
+            flight.cancelSeats(1);
+        }
+        return booked;
+    }
+
+    private boolean bookAndCancelLocked() {
+        synchronized (globalLock) {
+            return bookAndCancel(hotFlight);
+        }
+    }
+
+    // ==================== ONE FLIGHT PER THREAD ====================
+
+    @Benchmark
+    @Threads(1)
+    public boolean ownFlight01(ThreadFlight state) {
+        return bookAndCancel(state.flight);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean ownFlight02(ThreadFlight state) {
+        return bookAndCancel(state.flight);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean ownFlight04(ThreadFlight state) {
+        return bookAndCancel(state.flight);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean ownFlight08(ThreadFlight state) {
+        return bookAndCancel(state.flight);
+    }
+
+    // ==================== ONE SHARED FLIGHT ====================
+
+    @Benchmark
+    @Threads(1)
+    public boolean hotFlight01() {
+        return bookAndCancel(hotFlight);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean hotFlight02() {
+        return bookAndCancel(hotFlight);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean hotFlight04() {
+        return bookAndCancel(hotFlight);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean hotFlight08() {
+        return bookAndCancel(hotFlight);
+    }
+
+    // ==================== SHARED FLIGHT, GLOBAL LOCK ====================
+
+    @Benchmark
+    @Threads(1)
+    public boolean lockedHotFlight01() {
+        return bookAndCancelLocked();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean lockedHotFlight02() {
+        return bookAndCancelLocked();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean lockedHotFlight04() {
+        return bookAndCancelLocked();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean lockedHotFlight08() {
+        return bookAndCancelLocked();
+    }
+}
\ No newline at end of file
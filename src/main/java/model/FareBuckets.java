@@ -0,0 +1,190 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nested booking classes of one flight, e.g. Y, B, M, Q from highest fare to lowest.
+ * <p>
+ * Each bucket has a nested booking limit: the most seats that may be sold in it and
+ * all buckets below it together. A sale in a lower bucket therefore also uses up
+ * capacity of every higher one. The seats sold per bucket are packed into one long,
+ * 16 bits each, and every sale or refund is a single compare-and-set, so concurrent
+ * sales in different buckets never block each other.
+ * <p>
+ * The layout is built by chaining {@link #bucket} and is frozen once the buckets are
+ * attached to a flight; one set of buckets belongs to one flight.
+ */
+public class FareBuckets {
+    public static final int MAX_BUCKETS = 4;
+    public static final int MAX_LIMIT = 0xFFFF;
+    private static final int BITS = 16;
+
+    // highest fare first
+    private final String[] codes = new String[MAX_BUCKETS];
+    private final double[] prices = new double[MAX_BUCKETS];
+    private final int[] limits = new int[MAX_BUCKETS];
+    private int size;
+    private boolean attached;
+    private final AtomicLong sold = new AtomicLong();
+
+    /**
+     * Adds the next lower bucket. Buckets are added highest fare first, before the set
+     * is attached to a flight; prices and limits may not exceed those of the bucket above.
+     */
+    public synchronized FareBuckets bucket(String code, double price, int limit) {
+        if (attached) {
+            throw new IllegalStateException("Fare buckets can no longer be changed");
+        }
+        if (size == MAX_BUCKETS) {
+            throw new IllegalStateException("Fare buckets are full");
+        }
+        if (code == null || code.trim().isEmpty()) {
+            throw new IllegalArgumentException("Fare class cannot be empty");
+        }
+        if (indexOf(code) >= 0) {
+            throw new IllegalArgumentException("Duplicate fare class: " + code);
+        }
+        if (price < 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Bucket limit must be between 0 and " + MAX_LIMIT);
+        }
+        if (size > 0 && (price > prices[size - 1] || limit > limits[size - 1])) {
+            throw new IllegalArgumentException("Lower bucket cannot exceed the bucket above");
+        }
+        codes[size] = code;
+        prices[size] = price;
+        limits[size] = limit;
+        size++;
+        return this;
+    }
+
+    public List<String> getFareClasses() {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(codes[i]);
+        }
+        return result;
+    }
+
+    public double getPrice(String fareClass) {
+        return prices[index(fareClass)];
+    }
+
+    public int getLimit(String fareClass) {
+        return limits[index(fareClass)];
+    }
+
+    public int getSold(String fareClass) {
+        return sold(sold.get(), index(fareClass));
+    }
+
+    // Limit of the top bucket; the flight's seat count must match it
+    int getCapacity() {
+        return size > 0 ? limits[0] : 0;
+    }
+
+    /**
+     * Highest-fare bucket, which bookings without a fare class sell in
+     */
+    public String getTopFareClass() {
+        return size > 0 ? codes[0] : null;
+    }
+
+    // Freezes the layout; the flight publishes the set to other threads afterwards
+    synchronized void attach() {
+        if (attached) {
+            throw new IllegalStateException("Fare buckets are already attached to a flight");
+        }
+        attached = true;
+    }
+
+    /**
+     * Seats still sellable in the bucket: the tightest remaining nested limit of the
+     * bucket and every bucket above it
+     */
+    public int getAvailable(String fareClass) {
+        return available(sold.get(), index(fareClass));
+    }
+
+    /**
+     * Lowest-fare bucket with at least the given number of seats open, or null if none
+     */
+    public String getLowestOpenFareClass(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        long state = sold.get();
+        for (int i = size - 1; i >= 0; i--) {
+            if (available(state, i) >= seats) {
+                return codes[i];
+            }
+        }
+        return null;
+    }
+
+    // Claims seats in the bucket if every nested limit allows it
+    boolean reserve(String fareClass, int seats) {
+        int bucket = index(fareClass);
+        while (true) {
+            long state = sold.get();
+            if (available(state, bucket) < seats) {
+                return false;
+            }
+            if (sold.compareAndSet(state, state + ((long) seats << (bucket * BITS)))) {
+                return true;
+            }
+        }
+    }
+
+    void release(String fareClass, int seats) {
+        int bucket = index(fareClass);
+        while (true) {
+            long state = sold.get();
+            if (sold(state, bucket) < seats) {
+                throw new IllegalArgumentException("Cannot cancel more seats than booked");
+            }
+            if (sold.compareAndSet(state, state - ((long) seats << (bucket * BITS)))) {
+                return;
+            }
+        }
+    }
+
+    // Bucket i sells from min over j <= i of (limit j - seats sold in j and below)
+    private int available(long state, int bucket) {
+        int soldBelow = 0;
+        for (int i = size - 1; i > bucket; i--) {
+            soldBelow += sold(state, i);
+        }
+        int available = Integer.MAX_VALUE;
+        for (int i = bucket; i >= 0; i--) {
+            soldBelow += sold(state, i);
+            available = Math.min(available, limits[i] - soldBelow);
+        }
+        return Math.max(0, available);
+    }
+
+    private static int sold(long state, int bucket) {
+        return (int) (state >>> (bucket * BITS)) & MAX_LIMIT;
+    }
+
+    private int index(String fareClass) {
+        int index = indexOf(fareClass);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown fare class: " + fareClass);
+        }
+        return index;
+    }
+
+    private int indexOf(String fareClass) {
+        for (int i = 0; i < size; i++) {
+            if (codes[i].equals(fareClass)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Lowest available fare and number of bookable flights on one day of a route.
+ * Days without a bookable flight have no lowest fare; it is NaN rather than 0,
+ * so it can never be mistaken for a free seat or win a comparison of fares.
+ */
+public class FareCalendarDay {
+    private LocalDate date;
+    private double lowestPrice;
+    private int availableFlights;
+
+    public FareCalendarDay(LocalDate date, double lowestPrice, int availableFlights) {
+        this.date = date;
+        this.lowestPrice = lowestPrice;
+        this.availableFlights = availableFlights;
+    }
+
+    public LocalDate getDate() { return date; }
+    // NaN when no flight on this day has seats left, see hasAvailability()
+    public double getLowestPrice() { return lowestPrice; }
+    public int getAvailableFlights() { return availableFlights; }
+
+    public boolean hasAvailability() {
+        return availableFlights > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FareCalendarDay that = (FareCalendarDay) o;
+        return Double.compare(that.lowestPrice, lowestPrice) == 0 &&
+                availableFlights == that.availableFlights &&
+                Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, lowestPrice, availableFlights);
+    }
+
+    @Override
+    public String toString() {
+        return "FareCalendarDay{" +
+                "date=" + date +
+                ", lowestPrice=" + lowestPrice +
+                ", availableFlights=" + availableFlights +
+                '}';
+    }
+}
\ No newline at end of file
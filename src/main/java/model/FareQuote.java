@@ -0,0 +1,47 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * Lowest open fare of one flight for a party size
+ */
+public class FareQuote {
+    private Flight flight;
+    private String fareClass;
+    private double price;
+
+    public FareQuote(Flight flight, String fareClass, double price) {
+        this.flight = flight;
+        this.fareClass = fareClass;
+        this.price = price;
+    }
+
+    public Flight getFlight() { return flight; }
+    // null when the flight has no fare buckets and sells at its plain price
+    public String getFareClass() { return fareClass; }
+    public double getPrice() { return price; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FareQuote that = (FareQuote) o;
+        return Double.compare(that.price, price) == 0 &&
+                Objects.equals(flight, that.flight) &&
+                Objects.equals(fareClass, that.fareClass);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(flight, fareClass, price);
+    }
+
+    @Override
+    public String toString() {
+        return "FareQuote{" +
+                "flight=" + flight.getFlightId() +
+                ", fareClass='" + fareClass + '\'' +
+                ", price=" + price +
+                '}';
+    }
+}
\ No newline at end of file
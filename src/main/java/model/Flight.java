@@ -1,18 +1,40 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Flight {
+    /**
+     * Notified after every change to the number of available seats
+     */
+    public interface SeatListener {
+        void onSeatsChanged(Flight flight, int previousAvailable, int currentAvailable);
+    }
+
     private String flightId;
     private String sourceCity;
     private String destinationCity;
     private LocalDateTime departureTime;
     private LocalDateTime arrivalTime;
     private int totalSeats;
-    private int availableSeats;
+    private final AtomicInteger availableSeats;
     private double pricePerSeat;
     private String airline;
+    // shared case-insensitive codes, see NameDictionary
+    private int sourceCityCode;
+    private int destinationCityCode;
+    private int airlineCode;
+    // created on first registration, most flights never get a listener
+    private volatile List<SeatListener> seatListeners;
+    // null when seats are only counted, not assigned
+    private volatile SeatMap seatMap;
+    // null when every seat sells at pricePerSeat
+    private volatile FareBuckets fareBuckets;
+    // null when sales stop at totalSeats
+    private volatile NoShowModel noShowModel;
 
     public Flight(String flightId, String sourceCity, String destinationCity,
                   LocalDateTime departureTime, LocalDateTime arrivalTime,
@@ -23,9 +45,20 @@ public class Flight {
         this.departureTime = departureTime;
         this.arrivalTime = arrivalTime;
         this.totalSeats = totalSeats;
-        this.availableSeats = totalSeats;
+        this.availableSeats = new AtomicInteger(totalSeats);
         this.pricePerSeat = pricePerSeat;
         this.airline = airline;
+        this.sourceCityCode = NameDictionary.CITIES.intern(sourceCity);
+        this.destinationCityCode = NameDictionary.CITIES.intern(destinationCity);
+        this.airlineCode = NameDictionary.AIRLINES.intern(airline);
+    }
+
+    /**
+     * For views over flight data stored elsewhere. Subclasses must override every
+     * getter and both seat storage hooks.
+     */
+    protected Flight() {
+        this.availableSeats = null;
     }
 
     public String getFlightId() { return flightId; }
@@ -33,38 +66,269 @@ public class Flight {
     public String getDestinationCity() { return destinationCity; }
     public LocalDateTime getDepartureTime() { return departureTime; }
     public LocalDateTime getArrivalTime() { return arrivalTime; }
-    public int getAvailableSeats() { return availableSeats; }
+    public int getAvailableSeats() { return sellable(readAvailableSeats(), overbookingAllowance()); }
     public int getTotalSeats() { return totalSeats; }
     public double getPricePerSeat() { return pricePerSeat; }
     public String getAirline() { return airline; }
+    public int getSourceCityCode() { return sourceCityCode; }
+    public int getDestinationCityCode() { return destinationCityCode; }
+    public int getAirlineCode() { return airlineCode; }
+
+    public SeatMap getSeatMap() { return seatMap; }
+
+    /**
+     * Attaches per-seat inventory; its capacity must equal the flight's total seats
+     */
+    public void setSeatMap(SeatMap seatMap) {
+        validateSeatMap(seatMap);
+        this.seatMap = seatMap;
+    }
+
+    protected void validateSeatMap(SeatMap seatMap) {
+        if (seatMap != null && seatMap.getCapacity() != getTotalSeats()) {
+            throw new IllegalArgumentException("Seat map capacity must match total seats");
+        }
+        if (seatMap != null && getNoShowModel() != null) {
+            throw new IllegalStateException("Overbooking is not supported with a seat map");
+        }
+    }
+
+    public FareBuckets getFareBuckets() { return fareBuckets; }
+
+    /**
+     * Attaches nested fare buckets before any seat is sold; the top bucket's limit must
+     * equal the flight's total seats. From then on bookings without a fare class sell
+     * in the top bucket, and the buckets can no longer be changed.
+     */
+    public void setFareBuckets(FareBuckets fareBuckets) {
+        if (fareBuckets != null) {
+            if (fareBuckets.getCapacity() != getTotalSeats()) {
+                throw new IllegalArgumentException("Top bucket limit must match total seats");
+            }
+            if (getBookedSeats() > 0) {
+                throw new IllegalStateException("Fare buckets must be set before any sale");
+            }
+            if (getNoShowModel() != null) {
+                throw new IllegalStateException("Overbooking is not supported with fare buckets");
+            }
+            fareBuckets.attach();
+        }
+        storeFareBuckets(fareBuckets);
+    }
+
+    protected void storeFareBuckets(FareBuckets fareBuckets) {
+        this.fareBuckets = fareBuckets;
+    }
+
+    public NoShowModel getNoShowModel() { return noShowModel; }
+
+    /**
+     * Lets bookings exceed the physical seats by what the no-show model allows;
+     * null stops sales at totalSeats again. Not available on flights with fare
+     * buckets, whose top bucket limit caps sales at the physical seats, nor on flights
+     * with a seat map, which has no seat to assign to an overbooked passenger.
+     */
+    public void setNoShowModel(NoShowModel noShowModel) {
+        if (noShowModel != null && getFareBuckets() != null) {
+            throw new IllegalStateException("Overbooking is not supported with fare buckets");
+        }
+        if (noShowModel != null && getSeatMap() != null) {
+            throw new IllegalStateException("Overbooking is not supported with a seat map");
+        }
+        int previous = getAvailableSeats();
+        storeNoShowModel(noShowModel);
+        int current = getAvailableSeats();
+        if (previous != current) {
+            notifySeatsChanged(previous, current);
+        }
+    }
+
+    protected void storeNoShowModel(NoShowModel noShowModel) {
+        this.noShowModel = noShowModel;
+    }
+
+    /**
+     * Seats that may be sold in total: the physical seats, plus the overbooking the
+     * no-show model allows. Evaluated in constant time without locking.
+     */
+    public int getBookingCapacity() {
+        NoShowModel model = getNoShowModel();
+        return model == null ? getTotalSeats() : model.getBookingCapacity(getTotalSeats());
+    }
+
+    public int getBookedSeats() {
+        return getTotalSeats() - readAvailableSeats();
+    }
+
+    // Seats sold beyond the physical seats
+    public int getOverbookedSeats() {
+        return Math.max(0, -readAvailableSeats());
+    }
+
+    public void addSeatListener(SeatListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        synchronized (this) {
+            if (seatListeners == null) {
+                seatListeners = new CopyOnWriteArrayList<>();
+            }
+        }
+        seatListeners.add(listener);
+    }
+
+    public void removeSeatListener(SeatListener listener) {
+        List<SeatListener> listeners = seatListeners;
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    // ==================== SEAT STORAGE ====================
+
+    // The seat column counts physical seats left and goes negative once overbooked
+
+    protected int readAvailableSeats() {
+        return availableSeats.get();
+    }
 
+    protected boolean compareAndSetAvailableSeats(int expected, int updated) {
+        return availableSeats.compareAndSet(expected, updated);
+    }
+
+    /**
+     * Books seats without a fare class; on a flight with fare buckets they sell in the
+     * top bucket
+     */
     public boolean bookSeats(int numberOfSeats) {
+        FareBuckets buckets = getFareBuckets();
+        return buckets == null
+                ? bookUnbucketed(numberOfSeats)
+                : bookInBucket(buckets, numberOfSeats, buckets.getTopFareClass());
+    }
+
+    public void cancelSeats(int numberOfSeats) {
+        FareBuckets buckets = getFareBuckets();
+        if (buckets == null) {
+            cancelUnbucketed(numberOfSeats);
+        } else {
+            cancelInBucket(buckets, numberOfSeats, buckets.getTopFareClass());
+        }
+    }
+
+    private boolean bookUnbucketed(int numberOfSeats) {
+        if (numberOfSeats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        // Compare-and-set retry loop: the availability check and the decrement
+        // must apply to the same snapshot, otherwise concurrent buyers overbook
+        // beyond the booking capacity, which is re-evaluated on every attempt.
+        while (true) {
+            int current = readAvailableSeats();
+            int allowance = overbookingAllowance();
+            if (numberOfSeats > current + allowance) {
+                return false;
+            }
+            if (compareAndSetAvailableSeats(current, current - numberOfSeats)) {
+                notifySeatsChanged(sellable(current, allowance), sellable(current - numberOfSeats, allowance));
+                return true;
+            }
+        }
+    }
+
+    private void cancelUnbucketed(int numberOfSeats) {
+        if (numberOfSeats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        while (true) {
+            int current = readAvailableSeats();
+            if (current + numberOfSeats > getTotalSeats()) {
+                throw new IllegalArgumentException("Cannot cancel more seats than booked");
+            }
+            if (compareAndSetAvailableSeats(current, current + numberOfSeats)) {
+                int allowance = overbookingAllowance();
+                notifySeatsChanged(sellable(current, allowance), sellable(current + numberOfSeats, allowance));
+                return;
+            }
+        }
+    }
+
+    // ==================== FARE BUCKETS ====================
+
+    /**
+     * Books seats in a fare bucket. The bucket's nested limits are claimed first, then
+     * the seats themselves; if the flight is full the bucket claim is given back.
+     */
+    public boolean bookSeats(int numberOfSeats, String fareClass) {
+        return bookInBucket(requireFareBuckets(), numberOfSeats, fareClass);
+    }
+
+    public void cancelSeats(int numberOfSeats, String fareClass) {
+        cancelInBucket(requireFareBuckets(), numberOfSeats, fareClass);
+    }
+
+    private boolean bookInBucket(FareBuckets buckets, int numberOfSeats, String fareClass) {
         if (numberOfSeats <= 0) {
             throw new IllegalArgumentException("Number of seats must be positive");
         }
-        if (numberOfSeats > availableSeats) {
+        if (!buckets.reserve(fareClass, numberOfSeats)) {
+            return false;
+        }
+        if (!bookUnbucketed(numberOfSeats)) {
+            buckets.release(fareClass, numberOfSeats);
             return false;
         }
-        availableSeats -= numberOfSeats;
         return true;
     }
 
-    public void cancelSeats(int numberOfSeats) {
+    private void cancelInBucket(FareBuckets buckets, int numberOfSeats, String fareClass) {
         if (numberOfSeats <= 0) {
             throw new IllegalArgumentException("Number of seats must be positive");
         }
-        if (availableSeats + numberOfSeats > totalSeats) {
-            throw new IllegalArgumentException("Cannot cancel more seats than booked");
+        buckets.release(fareClass, numberOfSeats);
+        cancelUnbucketed(numberOfSeats);
+    }
+
+    public int getAvailableSeats(String fareClass) {
+        return Math.min(requireFareBuckets().getAvailable(fareClass), getAvailableSeats());
+    }
+
+    public double getPrice(String fareClass) {
+        return fareClass == null ? getPricePerSeat() : requireFareBuckets().getPrice(fareClass);
+    }
+
+    private FareBuckets requireFareBuckets() {
+        FareBuckets buckets = getFareBuckets();
+        if (buckets == null) {
+            throw new IllegalStateException("Flight has no fare buckets");
+        }
+        return buckets;
+    }
+
+    protected void notifySeatsChanged(int previousAvailable, int currentAvailable) {
+        List<SeatListener> listeners = seatListeners;
+        if (listeners == null) {
+            return;
+        }
+        for (SeatListener listener : listeners) {
+            listener.onSeatsChanged(this, previousAvailable, currentAvailable);
         }
-        availableSeats += numberOfSeats;
     }
 
     public boolean isFull() {
-        return availableSeats == 0;
+        return getAvailableSeats() == 0;
+    }
+
+    private int overbookingAllowance() {
+        return getNoShowModel() == null ? 0 : getBookingCapacity() - getTotalSeats();
+    }
+
+    private static int sellable(int physicalSeatsLeft, int allowance) {
+        return Math.max(0, physicalSeatsLeft + allowance);
     }
 
     public double getFlightDuration() {
-        return java.time.temporal.ChronoUnit.MINUTES.between(departureTime, arrivalTime);
+        return java.time.temporal.ChronoUnit.MINUTES.between(getDepartureTime(), getArrivalTime());
     }
 
     @Override
@@ -72,11 +336,11 @@ public class Flight {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Flight flight = (Flight) o;
-        return Objects.equals(flightId, flight.flightId);
+        return Objects.equals(getFlightId(), flight.getFlightId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(flightId);
+        return Objects.hash(getFlightId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public class Itinerary {
+    private List<Flight> legs;
+    private double totalPrice;
+
+    public Itinerary(List<Flight> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new IllegalArgumentException("Itinerary must have at least one flight");
+        }
+        this.legs = Collections.unmodifiableList(legs);
+        this.totalPrice = legs.stream().mapToDouble(Flight::getPricePerSeat).sum();
+    }
+
+    public List<Flight> getLegs() { return legs; }
+    public double getTotalPrice() { return totalPrice; }
+
+    public Flight getFirstLeg() {
+        return legs.get(0);
+    }
+
+    public Flight getLastLeg() {
+        return legs.get(legs.size() - 1);
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return getFirstLeg().getDepartureTime();
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return getLastLeg().getArrivalTime();
+    }
+
+    public int getNumberOfStops() {
+        return legs.size() - 1;
+    }
+
+    public boolean isDirect() {
+        return legs.size() == 1;
+    }
+
+    public Duration getTotalDuration() {
+        return Duration.between(getDepartureTime(), getArrivalTime());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Itinerary itinerary = (Itinerary) o;
+        return Objects.equals(legs, itinerary.legs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(legs);
+    }
+
+    @Override
+    public String toString() {
+        return "Itinerary{" +
+                "legs=" + legs.stream().map(Flight::getFlightId).collect(Collectors.joining(" > ")) +
+                ", departureTime=" + getDepartureTime() +
+                ", arrivalTime=" + getArrivalTime() +
+                ", totalPrice=" + totalPrice +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Case-insensitive dictionary assigning small, dense int codes to names.
+ * <p>
+ * Names are case-folded once when interned, so comparing two codes replaces an
+ * {@code equalsIgnoreCase} on the names. Codes are never reused or removed.
+ * <p>
+ * {@link #CITIES} and {@link #AIRLINES} are shared by every flight, store and search
+ * engine in the JVM. They only grow: every distinct name ever interned stays for the
+ * life of the process and there is no way to clear them. Only flights intern names;
+ * searches just look them up, so user input never makes them grow.
+ */
+public final class NameDictionary {
+    public static final NameDictionary CITIES = new NameDictionary();
+    public static final NameDictionary AIRLINES = new NameDictionary();
+
+    // returned for null names and by lookup() for names never interned
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    NameDictionary() {
+    }
+
+    /**
+     * Code for the name, assigning the next free one if it is new
+     */
+    public int intern(String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        String key = fold(name);
+        Integer code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        // new codes are assigned one at a time so size() is always the next free one
+        synchronized (this) {
+            return codes.computeIfAbsent(key, k -> codes.size());
+        }
+    }
+
+    /**
+     * Code for the name without interning it, UNKNOWN if it has never been seen
+     */
+    public int lookup(String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        return codes.getOrDefault(fold(name), UNKNOWN);
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Case-folds one character at a time, so two names fold alike exactly when
+     * {@code equalsIgnoreCase} says they are equal
+     */
+    public static String fold(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); ) {
+            int c = name.codePointAt(i);
+            folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c)));
+            i += Character.charCount(c);
+        }
+        return folded.toString();
+    }
+}
\ No newline at end of file
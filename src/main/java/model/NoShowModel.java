@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * Share of booked passengers expected not to turn up, and the probability of denied
+ * boarding the airline accepts. Gives how many seats may be sold on a flight.
+ * <p>
+ * Passengers who show up are treated as binomial with show rate q = 1 - noShowRate,
+ * approximated by a normal distribution. The booking capacity is the largest n with
+ * n q + z sqrt(n q (1 - q)) &lt;= seats, z being the standard normal quantile of
+ * 1 - maxDeniedBoardingRisk. That is a quadratic in sqrt(n), so the capacity is one
+ * square root away and cheap enough to evaluate on every booking.
+ */
+public class NoShowModel {
+    private final double noShowRate;
+    private final double maxDeniedBoardingRisk;
+    private final double showRate;
+    // z * sqrt(q (1 - q)), the linear coefficient of the quadratic
+    private final double spread;
+
+    public NoShowModel(double noShowRate, double maxDeniedBoardingRisk) {
+        if (!(noShowRate >= 0 && noShowRate < 1)) {
+            throw new IllegalArgumentException("No-show rate must be at least 0 and below 1");
+        }
+        if (!(maxDeniedBoardingRisk > 0 && maxDeniedBoardingRisk < 1)) {
+            throw new IllegalArgumentException("Denied boarding risk must be between 0 and 1");
+        }
+        this.noShowRate = noShowRate;
+        this.maxDeniedBoardingRisk = maxDeniedBoardingRisk;
+        this.showRate = 1 - noShowRate;
+        this.spread = inverseNormal(1 - maxDeniedBoardingRisk) * Math.sqrt(showRate * noShowRate);
+    }
+
+    public double getNoShowRate() { return noShowRate; }
+    public double getMaxDeniedBoardingRisk() { return maxDeniedBoardingRisk; }
+
+    /**
+     * Seats that may be sold on a flight with the given number of physical seats;
+     * never fewer than the seats themselves
+     */
+    public int getBookingCapacity(int seats) {
+        if (seats <= 0 || noShowRate == 0) {
+            return Math.max(seats, 0);
+        }
+        double root = (-spread + Math.sqrt(spread * spread + 4 * showRate * seats)) / (2 * showRate);
+        double capacity = Math.floor(root * root);
+        return (int) Math.max(seats, Math.min(capacity, Integer.MAX_VALUE));
+    }
+
+    // Acklam's rational approximation of the standard normal quantile, relative error below 1.2e-9
+    private static double inverseNormal(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "NoShowModel{" +
+                "noShowRate=" + noShowRate +
+                ", maxDeniedBoardingRisk=" + maxDeniedBoardingRisk +
+                '}';
+    }
+}
\ No newline at end of file
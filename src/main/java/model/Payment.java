@@ -1,18 +1,32 @@
 package model;
 
 import java.time.LocalDateTime;
-import java.time.YearMonth;
+import java.time.ZonedDateTime;
 import java.util.Objects;
 
 public class Payment {
+    /**
+     * Notified after every status transition, while the payment's monitor is held
+     */
+    public interface StatusListener {
+        void onStatusChange(Payment payment, String oldStatus, String newStatus);
+    }
+
     private String paymentId;
     private String reservationId;
     private double amount;
+    private long amountMinorUnits; // amount in cents, exact
     private String cardNumber;
     private String cvv;
     private String expiryDate; // MM/YY format
-    private String status; // SUCCESS, FAILED, PENDING, REFUNDED
+    private volatile String status; // SUCCESS, FAILED, PENDING, REFUNDED
     private LocalDateTime transactionDate;
+    private volatile StatusListener statusListener;
+
+    // The current month is cached until the next month boundary so expiry
+    // validation does not allocate a YearMonth per call
+    private static volatile long currentMonthValidUntil;
+    private static volatile int currentMonthIndex;
 
     public Payment(String paymentId, String reservationId, double amount,
                    String cardNumber, String cvv, String expiryDate) {
@@ -32,6 +46,7 @@ public class Payment {
         this.paymentId = paymentId;
         this.reservationId = reservationId;
         this.amount = amount;
+        this.amountMinorUnits = Math.round(amount * 100);
         this.cardNumber = maskCardNumber(cardNumber);
         this.cvv = cvv;
         this.expiryDate = expiryDate;
@@ -42,6 +57,7 @@ public class Payment {
     public String getPaymentId() { return paymentId; }
     public String getReservationId() { return reservationId; }
     public double getAmount() { return amount; }
+    public long getAmountMinorUnits() { return amountMinorUnits; }
     public String getCardNumber() { return cardNumber; }
     public String getStatus() { return status; }
     public LocalDateTime getTransactionDate() { return transactionDate; }
@@ -49,50 +65,40 @@ public class Payment {
     /**
      * Validates credit card number using Luhn algorithm
      * Supports Visa, Mastercard, American Express, Discover, etc.
+     * Non-digit characters (spaces, dashes, etc.) are skipped; the length check,
+     * digit filtering and Luhn sum are done in a single allocation-free pass.
      */
     public static boolean isValidCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.trim().isEmpty()) {
+        if (cardNumber == null) {
             return false;
         }
-        
-        // Remove all non-digit characters (spaces, dashes, etc.)
-        String digits = cardNumber.replaceAll("\\D", "");
-        
-        // Check length (13-19 digits for most cards)
-        if (digits.length() < 13 || digits.length() > 19) {
-            return false;
-        }
-        
-        // Apply Luhn algorithm
-        return luhnCheck(digits);
-    }
 
-    /**
-     * Luhn Algorithm Implementation
-     * Used to validate credit card numbers
-     */
-    private static boolean luhnCheck(String cardNumber) {
+        int digitCount = 0;
         int sum = 0;
-        boolean alternate = false;
-        
-        // Process digits from right to left
+
+        // Process digits from right to left, doubling every second one
         for (int i = cardNumber.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(cardNumber.charAt(i));
-            
-            if (alternate) {
+            char c = cardNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            int digit = c - '0';
+            if ((digitCount & 1) == 1) {
                 digit *= 2;
                 // If result is two digits, add them together
                 if (digit > 9) {
-                    digit = (digit / 10) + (digit % 10);
+                    digit -= 9;
                 }
             }
-            
             sum += digit;
-            alternate = !alternate;
+            // Check length (13-19 digits for most cards)
+            if (++digitCount > 19) {
+                return false;
+            }
         }
-        
+
         // Valid if sum is divisible by 10
-        return (sum % 10) == 0;
+        return digitCount >= 13 && (sum % 10) == 0;
     }
 
     /**
@@ -100,11 +106,15 @@ public class Payment {
      * Must be 3 digits for Visa/MC or 4 digits for Amex
      */
     public static boolean isValidCVV(String cvv) {
-        if (cvv == null) {
+        if (cvv == null || cvv.length() < 3 || cvv.length() > 4) {
             return false;
         }
-        // CVV must be 3 or 4 digits only
-        return cvv.matches("^\\d{3,4}$");
+        for (int i = 0; i < cvv.length(); i++) {
+            if (!isDigit(cvv.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -112,25 +122,44 @@ public class Payment {
      * Card must not be expired
      */
     public static boolean isValidExpiryDate(String expiryDate) {
-        if (expiryDate == null || !expiryDate.matches("^(0[1-9]|1[0-2])/\\d{2}$")) {
+        if (expiryDate == null || expiryDate.length() != 5 || expiryDate.charAt(2) != '/') {
+            return false;
+        }
+        char m1 = expiryDate.charAt(0);
+        char m2 = expiryDate.charAt(1);
+        char y1 = expiryDate.charAt(3);
+        char y2 = expiryDate.charAt(4);
+        if (!isDigit(m1) || !isDigit(m2) || !isDigit(y1) || !isDigit(y2)) {
             return false;
         }
-        
-        try {
-            String[] parts = expiryDate.split("/");
-            int month = Integer.parseInt(parts[0]);
-            int year = Integer.parseInt(parts[1]) + 2000; // Convert YY to YYYY
-            
-            // Create YearMonth for comparison
-            YearMonth cardExpiry = YearMonth.of(year, month);
-            YearMonth currentYearMonth = YearMonth.now();
-            
-            // Card must not be expired (same month or future)
-            return cardExpiry.compareTo(currentYearMonth) >= 0;
-            
-        } catch (Exception e) {
+
+        int month = (m1 - '0') * 10 + (m2 - '0');
+        if (month < 1 || month > 12) {
             return false;
         }
+        int year = 2000 + (y1 - '0') * 10 + (y2 - '0'); // Convert YY to YYYY
+
+        // Card must not be expired (same month or future)
+        return monthIndex(year, month) >= currentMonthIndex();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    private static int currentMonthIndex() {
+        long now = System.currentTimeMillis();
+        if (now >= currentMonthValidUntil) {
+            ZonedDateTime current = ZonedDateTime.now();
+            currentMonthIndex = monthIndex(current.getYear(), current.getMonthValue());
+            currentMonthValidUntil = current.toLocalDate().withDayOfMonth(1).plusMonths(1)
+                    .atStartOfDay(current.getZone()).toInstant().toEpochMilli();
+        }
+        return currentMonthIndex;
     }
 
     /**
@@ -138,26 +167,55 @@ public class Payment {
      * Shows first 4 and last 4 digits only
      */
     private static String maskCardNumber(String cardNumber) {
-        String digits = cardNumber.replaceAll("\\D", "");
-        if (digits.length() < 8) {
+        char[] masked = {'*', '*', '*', '*', '*', '*', '*', '*', '*', '*', '*', '*'};
+        char[] lastFour = new char[4];
+        int digitCount = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (!isDigit(c)) {
+                continue;
+            }
+            if (digitCount < 4) {
+                masked[digitCount] = c;
+            }
+            lastFour[digitCount & 3] = c;
+            digitCount++;
+        }
+        if (digitCount < 8) {
             return "****";
         }
-        return digits.substring(0, 4) + "****" + digits.substring(digits.length() - 4);
+        for (int i = 0; i < 4; i++) {
+            masked[8 + i] = lastFour[(digitCount + i) & 3];
+        }
+        return new String(masked);
     }
 
-    public void processPayment() {
-        this.status = "SUCCESS";
+    public void setStatusListener(StatusListener statusListener) {
+        this.statusListener = statusListener;
     }
 
-    public void failPayment() {
-        this.status = "FAILED";
+    public synchronized void processPayment() {
+        changeStatus("SUCCESS");
     }
 
-    public void refund() {
+    public synchronized void failPayment() {
+        changeStatus("FAILED");
+    }
+
+    public synchronized void refund() {
         if (!"SUCCESS".equals(status)) {
             throw new IllegalStateException("Cannot refund unsuccessful payment");
         }
-        this.status = "REFUNDED";
+        changeStatus("REFUNDED");
+    }
+
+    private void changeStatus(String newStatus) {
+        String oldStatus = this.status;
+        this.status = newStatus;
+        StatusListener listener = statusListener;
+        if (listener != null) {
+            listener.onStatusChange(this, oldStatus, newStatus);
+        }
     }
 
     @Override
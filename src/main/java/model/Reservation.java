@@ -1,23 +1,36 @@
 package model;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Reservation {
     private String reservationId;
     private Flight flight;
     private List<Passenger> passengers;
-    private double totalPrice;
-    private String status; // PENDING, CONFIRMED, CANCELLED
+    private volatile double totalPrice;
+    private volatile String status; // PENDING, CONFIRMED, CANCELLED
     private LocalDateTime bookingDate;
-    private String paymentId;
+    private volatile String paymentId;
+    // passenger ID -> seat label, empty unless the flight has a seat map
+    private volatile Map<String, String> seatAssignments = Collections.emptyMap();
+    // fare bucket seats are sold in, null for the flight's plain price
+    private String fareClass;
 
     public Reservation(String reservationId, Flight flight) {
+        this(reservationId, flight, null);
+    }
+
+    public Reservation(String reservationId, Flight flight, String fareClass) {
         this.reservationId = reservationId;
         this.flight = flight;
-        this.passengers = new ArrayList<>();
+        this.fareClass = fareClass;
+        // Copy-on-write so finders can iterate passengers while another thread edits them
+        this.passengers = new CopyOnWriteArrayList<>();
         this.status = "PENDING";
         this.bookingDate = LocalDateTime.now();
     }
@@ -29,6 +42,38 @@ public class Reservation {
     public String getStatus() { return status; }
     public LocalDateTime getBookingDate() { return bookingDate; }
     public String getPaymentId() { return paymentId; }
+    public String getFareClass() { return fareClass; }
+    public Map<String, String> getSeatAssignments() { return seatAssignments; }
+
+    /**
+     * Records one seat per passenger, in passenger order
+     */
+    public void assignSeats(List<String> seats) {
+        if (seats == null || seats.size() != passengers.size()) {
+            throw new IllegalArgumentException("Seat count must match passengers");
+        }
+        Map<String, String> assignments = new LinkedHashMap<>();
+        for (int i = 0; i < seats.size(); i++) {
+            assignments.put(passengers.get(i).getPassengerId(), seats.get(i));
+        }
+        this.seatAssignments = Collections.unmodifiableMap(assignments);
+    }
+
+    public void clearSeatAssignments() {
+        this.seatAssignments = Collections.emptyMap();
+    }
+
+    /**
+     * Drops one passenger's seat; returns the seat label, or null if none was assigned
+     */
+    public String removeSeatAssignment(String passengerId) {
+        Map<String, String> assignments = new LinkedHashMap<>(seatAssignments);
+        String seat = assignments.remove(passengerId);
+        if (seat != null) {
+            this.seatAssignments = Collections.unmodifiableMap(assignments);
+        }
+        return seat;
+    }
 
     public void addPassenger(Passenger passenger) {
         if (passenger == null) {
@@ -48,7 +93,7 @@ public class Reservation {
     }
 
     private void calculateTotalPrice() {
-        this.totalPrice = flight.getPricePerSeat() * passengers.size();
+        this.totalPrice = flight.getPrice(fareClass) * passengers.size();
     }
 
     public void confirm(String paymentId) {
@@ -0,0 +1,74 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Position in a departure-ordered result: the next page starts with the first flight
+ * ordered after (departureTime, flightId). Stable while flights are added.
+ */
+public class SearchCursor {
+    private LocalDateTime departureTime;
+    private String flightId;
+
+    public SearchCursor(LocalDateTime departureTime, String flightId) {
+        if (departureTime == null) {
+            throw new IllegalArgumentException("Cursor departure time cannot be null");
+        }
+        if (flightId == null || flightId.isEmpty()) {
+            throw new IllegalArgumentException("Cursor flight ID cannot be empty");
+        }
+        this.departureTime = departureTime;
+        this.flightId = flightId;
+    }
+
+    public static SearchCursor after(Flight flight) {
+        return new SearchCursor(flight.getDepartureTime(), flight.getFlightId());
+    }
+
+    public LocalDateTime getDepartureTime() { return departureTime; }
+    public String getFlightId() { return flightId; }
+
+    /**
+     * Opaque token for API clients, read back with {@link #decode(String)}
+     */
+    public String encode() {
+        return departureTime + "|" + flightId;
+    }
+
+    public static SearchCursor decode(String token) {
+        int separator = token != null ? token.indexOf('|') : -1;
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new SearchCursor(LocalDateTime.parse(token.substring(0, separator)),
+                    token.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchCursor that = (SearchCursor) o;
+        return Objects.equals(departureTime, that.departureTime) &&
+                Objects.equals(flightId, that.flightId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departureTime, flightId);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCursor{" +
+                "departureTime=" + departureTime +
+                ", flightId='" + flightId + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
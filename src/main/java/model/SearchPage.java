@@ -0,0 +1,33 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a departure-ordered search and the cursor to resume from
+ */
+public class SearchPage {
+    private List<Flight> flights;
+    private SearchCursor nextCursor;
+
+    public SearchPage(List<Flight> flights, SearchCursor nextCursor) {
+        this.flights = Collections.unmodifiableList(flights);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Flight> getFlights() { return flights; }
+    // null on the last page
+    public SearchCursor getNextCursor() { return nextCursor; }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchPage{" +
+                "flights=" + flights.size() +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
\ No newline at end of file
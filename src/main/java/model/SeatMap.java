@@ -0,0 +1,281 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat inventory of one flight as one bit word per row.
+ * <p>
+ * Bit c of row r's word is set while seat (r, c) is taken. Every allocation claims its
+ * bits with a compare-and-set on the row word, so concurrent bookers never get the same
+ * seat. Seats are labelled by 1-based row number and column letter, e.g. "12C".
+ */
+public class SeatMap {
+    public static final String FIRST = "FIRST";
+    public static final String BUSINESS = "BUSINESS";
+    public static final String ECONOMY = "ECONOMY";
+    public static final int MAX_SEATS_PER_ROW = 26;
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final long rowMask;
+    private final AtomicLongArray occupied;
+    private final String[] cabinByRow;
+
+    /**
+     * All rows start in ECONOMY; see {@link #setCabin(String, int, int)}
+     */
+    public SeatMap(int rows, int seatsPerRow) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Rows must be positive");
+        }
+        if (seatsPerRow <= 0 || seatsPerRow > MAX_SEATS_PER_ROW) {
+            throw new IllegalArgumentException("Seats per row must be between 1 and " + MAX_SEATS_PER_ROW);
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.rowMask = (1L << seatsPerRow) - 1;
+        this.occupied = new AtomicLongArray(rows);
+        this.cabinByRow = new String[rows];
+        Arrays.fill(cabinByRow, ECONOMY);
+    }
+
+    /**
+     * Assigns rows firstRow..lastRow (1-based, inclusive) to a cabin. Meant for setting
+     * up the layout before any seat is allocated.
+     */
+    public SeatMap setCabin(String cabin, int firstRow, int lastRow) {
+        if (!FIRST.equals(cabin) && !BUSINESS.equals(cabin) && !ECONOMY.equals(cabin)) {
+            throw new IllegalArgumentException("Invalid cabin class");
+        }
+        if (firstRow < 1 || lastRow > rows || firstRow > lastRow) {
+            throw new IllegalArgumentException("Invalid row range");
+        }
+        Arrays.fill(cabinByRow, firstRow - 1, lastRow, cabin);
+        return this;
+    }
+
+    public int getRows() { return rows; }
+    public int getSeatsPerRow() { return seatsPerRow; }
+
+    public int getCapacity() {
+        return rows * seatsPerRow;
+    }
+
+    public String getCabin(int row) {
+        if (row < 1 || row > rows) {
+            throw new IllegalArgumentException("Invalid row range");
+        }
+        return cabinByRow[row - 1];
+    }
+
+    // ==================== ALLOCATION ====================
+
+    /**
+     * Claims count side-by-side seats in one row, front rows first, in any cabin.
+     * Returns the seat labels, or an empty list when no row has such a run free.
+     */
+    public List<String> allocateAdjacent(int count) {
+        return allocateAdjacent(count, null);
+    }
+
+    public List<String> allocateAdjacent(int count, String cabin) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        if (count > seatsPerRow) {
+            return new ArrayList<>();
+        }
+        for (int row = 0; row < rows; row++) {
+            if (cabin != null && !cabin.equals(cabinByRow[row])) {
+                continue;
+            }
+            while (true) {
+                long word = occupied.get(row);
+                long runs = freeRuns(~word & rowMask, count);
+                if (runs == 0) {
+                    break;
+                }
+                int column = Long.numberOfTrailingZeros(runs);
+                long claim = ((1L << count) - 1) << column;
+                if (occupied.compareAndSet(row, word, word | claim)) {
+                    List<String> seats = new ArrayList<>(count);
+                    for (int c = column; c < column + count; c++) {
+                        seats.add(label(row, c));
+                    }
+                    return seats;
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Claims the first count free seats, front rows first, adjacent or not.
+     * All or nothing: returns an empty list and claims nothing if fewer are free.
+     */
+    public List<String> allocateAny(int count, String cabin) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        List<String> seats = new ArrayList<>(count);
+        for (int row = 0; row < rows && seats.size() < count; row++) {
+            if (cabin != null && !cabin.equals(cabinByRow[row])) {
+                continue;
+            }
+            while (seats.size() < count) {
+                long word = occupied.get(row);
+                long free = ~word & rowMask;
+                if (free == 0) {
+                    break;
+                }
+                // take the lowest free columns, no more than still needed
+                long claim = 0;
+                for (int needed = count - seats.size(); needed > 0 && free != 0; needed--) {
+                    long lowest = free & -free;
+                    claim |= lowest;
+                    free &= ~lowest;
+                }
+                if (occupied.compareAndSet(row, word, word | claim)) {
+                    for (long bits = claim; bits != 0; bits &= bits - 1) {
+                        seats.add(label(row, Long.numberOfTrailingZeros(bits)));
+                    }
+                    break;
+                }
+            }
+        }
+        if (seats.size() < count) {
+            release(seats);
+            return new ArrayList<>();
+        }
+        return seats;
+    }
+
+    /**
+     * Claims exactly the given seats. All or nothing: if any is taken, or taken
+     * concurrently, the ones already claimed are released and false is returned.
+     */
+    public boolean allocate(List<String> seats) {
+        if (seats == null || seats.isEmpty()) {
+            throw new IllegalArgumentException("Seats cannot be empty");
+        }
+        long[] wanted = masksByRow(seats);
+        for (int row = 0; row < rows; row++) {
+            if (wanted[row] == 0) {
+                continue;
+            }
+            while (true) {
+                long word = occupied.get(row);
+                if ((word & wanted[row]) != 0) {
+                    for (int claimed = 0; claimed < row; claimed++) {
+                        clear(claimed, wanted[claimed]);
+                    }
+                    return false;
+                }
+                if (occupied.compareAndSet(row, word, word | wanted[row])) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Frees seats claimed by a previous allocation
+     */
+    public void release(List<String> seats) {
+        if (seats == null || seats.isEmpty()) {
+            return;
+        }
+        long[] released = masksByRow(seats);
+        for (int row = 0; row < rows; row++) {
+            if (released[row] != 0 && (occupied.get(row) & released[row]) != released[row]) {
+                throw new IllegalArgumentException("Cannot release a seat that is not allocated");
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            if (released[row] != 0) {
+                clear(row, released[row]);
+            }
+        }
+    }
+
+    public boolean isAvailable(String seat) {
+        int[] position = parse(seat);
+        return (occupied.get(position[0]) & (1L << position[1])) == 0;
+    }
+
+    public int getAvailableSeats() {
+        return getAvailableSeats(null);
+    }
+
+    public int getAvailableSeats(String cabin) {
+        int available = 0;
+        for (int row = 0; row < rows; row++) {
+            if (cabin == null || cabin.equals(cabinByRow[row])) {
+                available += Long.bitCount(~occupied.get(row) & rowMask);
+            }
+        }
+        return available;
+    }
+
+    // Bit i of the result is set when columns i..i+count-1 are all free
+    private static long freeRuns(long free, int count) {
+        long runs = free;
+        int length = 1;
+        while (length < count && runs != 0) {
+            int shift = Math.min(length, count - length);
+            runs &= runs >>> shift;
+            length += shift;
+        }
+        return runs;
+    }
+
+    private void clear(int row, long mask) {
+        while (true) {
+            long word = occupied.get(row);
+            if (occupied.compareAndSet(row, word, word & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    private long[] masksByRow(List<String> seats) {
+        long[] masks = new long[rows];
+        for (String seat : seats) {
+            int[] position = parse(seat);
+            long bit = 1L << position[1];
+            if ((masks[position[0]] & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate seat: " + seat);
+            }
+            masks[position[0]] |= bit;
+        }
+        return masks;
+    }
+
+    private static String label(int row, int column) {
+        return String.valueOf(row + 1) + (char) ('A' + column);
+    }
+
+    // {row index, column index} of a label such as "12C"
+    private int[] parse(String seat) {
+        if (seat == null || seat.length() < 2) {
+            throw new IllegalArgumentException("Invalid seat: " + seat);
+        }
+        int column = Character.toUpperCase(seat.charAt(seat.length() - 1)) - 'A';
+        int row = 0;
+        for (int i = 0; i < seat.length() - 1; i++) {
+            char c = seat.charAt(i);
+            if (c < '0' || c > '9' || row > rows) {
+                throw new IllegalArgumentException("Invalid seat: " + seat);
+            }
+            row = row * 10 + (c - '0');
+        }
+        if (row < 1 || row > rows || column < 0 || column >= seatsPerRow) {
+            throw new IllegalArgumentException("Invalid seat: " + seat);
+        }
+        return new int[] {row - 1, column};
+    }
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package service;
+
+import model.FareBuckets;
+import model.Flight;
+import model.NameDictionary;
+import model.NoShowModel;
+import model.SeatMap;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Flight schedule kept in primitive columns instead of one object graph per flight.
+ * <p>
+ * Cities and airlines are dictionary-coded to ints, departure and arrival are epoch
+ * minutes (UTC of the local time), prices are fixed-point cents and seat counts live
+ * in int arrays. {@link #flight(int)} returns a {@link Flight} view over one row, so
+ * the rest of the system, including {@link FlightSearchEngine}, works on it unchanged.
+ * Seat bookings through a view write straight through to the seat column.
+ * <p>
+ * The store has a fixed capacity; rows are appended under the store lock and are
+ * visible to readers once {@link #size()} covers them.
+ */
+public class ColumnarFlightStore {
+    private final String[] flightIds;
+    private final int[] sourceCodes;
+    private final int[] destinationCodes;
+    private final int[] airlineCodes;
+    private final int[] departureMinutes;
+    private final int[] arrivalMinutes;
+    private final long[] priceCents;
+    private final int[] totalSeats;
+    private final AtomicIntegerArray availableSeats;
+
+    // code -> name, replaced on append so views read them without locking
+    private volatile String[] cityNames = new String[0];
+    private volatile String[] airlineNames = new String[0];
+    // store code -> shared NameDictionary code
+    private volatile int[] sharedCityCodes = new int[0];
+    private volatile int[] sharedAirlineCodes = new int[0];
+    private final Map<String, Integer> cityCodeByName = new HashMap<>();
+    private final Map<String, Integer> airlineCodeByName = new HashMap<>();
+    // listeners live with the row so every view of it sees the same ones
+    private final Map<Integer, List<Flight.SeatListener>> seatListeners = new ConcurrentHashMap<>();
+    private final Map<Integer, SeatMap> seatMaps = new ConcurrentHashMap<>();
+    private final Map<Integer, FareBuckets> fareBuckets = new ConcurrentHashMap<>();
+    private final Map<Integer, NoShowModel> noShowModels = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    public ColumnarFlightStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.flightIds = new String[capacity];
+        this.sourceCodes = new int[capacity];
+        this.destinationCodes = new int[capacity];
+        this.airlineCodes = new int[capacity];
+        this.departureMinutes = new int[capacity];
+        this.arrivalMinutes = new int[capacity];
+        this.priceCents = new long[capacity];
+        this.totalSeats = new int[capacity];
+        this.availableSeats = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Appends a row and returns its view. Prices are rounded to whole cents.
+     */
+    public synchronized Flight add(String flightId, String sourceCity, String destinationCity,
+                                   LocalDateTime departureTime, LocalDateTime arrivalTime,
+                                   int totalSeats, double pricePerSeat, String airline) {
+        if (size == flightIds.length) {
+            throw new IllegalStateException("Flight store is full");
+        }
+        if (flightId == null || sourceCity == null || destinationCity == null || airline == null) {
+            throw new IllegalArgumentException("Flight fields cannot be null");
+        }
+        int row = size;
+        flightIds[row] = flightId;
+        sourceCodes[row] = cityCode(sourceCity);
+        destinationCodes[row] = cityCode(destinationCity);
+        airlineCodes[row] = airlineCode(airline);
+        departureMinutes[row] = toEpochMinute(departureTime);
+        arrivalMinutes[row] = toEpochMinute(arrivalTime);
+        priceCents[row] = Math.round(pricePerSeat * 100);
+        this.totalSeats[row] = totalSeats;
+        availableSeats.set(row, totalSeats);
+        size = row + 1;
+        return new FlightView(row);
+    }
+
+    /**
+     * Copies a flight's schedule and current availability into a new row
+     */
+    public Flight add(Flight flight) {
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight cannot be null");
+        }
+        synchronized (this) {
+            Flight view = add(flight.getFlightId(), flight.getSourceCity(), flight.getDestinationCity(),
+                    flight.getDepartureTime(), flight.getArrivalTime(),
+                    flight.getTotalSeats(), flight.getPricePerSeat(), flight.getAirline());
+            availableSeats.set(size - 1, flight.getTotalSeats() - flight.getBookedSeats());
+            return view;
+        }
+    }
+
+    /**
+     * View of the row at the given ordinal. Views are cheap and not cached; two views
+     * of the same row are equal and share seats and listeners.
+     */
+    public Flight flight(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("No flight at ordinal " + ordinal);
+        }
+        return new FlightView(ordinal);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return flightIds.length;
+    }
+
+    public int getCityCount() {
+        return cityNames.length;
+    }
+
+    public int getAirlineCount() {
+        return airlineNames.length;
+    }
+
+    private int cityCode(String city) {
+        Integer code = cityCodeByName.get(city);
+        if (code == null) {
+            code = cityNames.length;
+            sharedCityCodes = append(sharedCityCodes, NameDictionary.CITIES.intern(city));
+            cityNames = append(cityNames, city);
+            cityCodeByName.put(city, code);
+        }
+        return code;
+    }
+
+    private int airlineCode(String airline) {
+        Integer code = airlineCodeByName.get(airline);
+        if (code == null) {
+            code = airlineNames.length;
+            sharedAirlineCodes = append(sharedAirlineCodes, NameDictionary.AIRLINES.intern(airline));
+            airlineNames = append(airlineNames, airline);
+            airlineCodeByName.put(airline, code);
+        }
+        return code;
+    }
+
+    private static String[] append(String[] names, String name) {
+        String[] copy = Arrays.copyOf(names, names.length + 1);
+        copy[names.length] = name;
+        return copy;
+    }
+
+    private static int[] append(int[] codes, int code) {
+        int[] copy = Arrays.copyOf(codes, codes.length + 1);
+        copy[codes.length] = code;
+        return copy;
+    }
+
+    private static int toEpochMinute(LocalDateTime time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Flight times cannot be null");
+        }
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            throw new IllegalArgumentException("Flight times must be whole minutes");
+        }
+        return Math.toIntExact(time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Flyweight over one row; holds nothing but the row ordinal
+     */
+    private final class FlightView extends Flight {
+        private final int row;
+
+        private FlightView(int row) {
+            this.row = row;
+        }
+
+        @Override public String getFlightId() { return flightIds[row]; }
+        @Override public String getSourceCity() { return cityNames[sourceCodes[row]]; }
+        @Override public String getDestinationCity() { return cityNames[destinationCodes[row]]; }
+        @Override public LocalDateTime getDepartureTime() { return fromEpochMinute(departureMinutes[row]); }
+        @Override public LocalDateTime getArrivalTime() { return fromEpochMinute(arrivalMinutes[row]); }
+        @Override public int getTotalSeats() { return totalSeats[row]; }
+        @Override public double getPricePerSeat() { return priceCents[row] / 100.0; }
+        @Override public String getAirline() { return airlineNames[airlineCodes[row]]; }
+        @Override public int getSourceCityCode() { return sharedCityCodes[sourceCodes[row]]; }
+        @Override public int getDestinationCityCode() { return sharedCityCodes[destinationCodes[row]]; }
+        @Override public int getAirlineCode() { return sharedAirlineCodes[airlineCodes[row]]; }
+
+        @Override
+        public double getFlightDuration() {
+            return arrivalMinutes[row] - departureMinutes[row];
+        }
+
+        @Override
+        protected int readAvailableSeats() {
+            return availableSeats.get(row);
+        }
+
+        @Override
+        protected boolean compareAndSetAvailableSeats(int expected, int updated) {
+            return availableSeats.compareAndSet(row, expected, updated);
+        }
+
+        @Override
+        public SeatMap getSeatMap() {
+            return seatMaps.get(row);
+        }
+
+        @Override
+        public void setSeatMap(SeatMap seatMap) {
+            validateSeatMap(seatMap);
+            if (seatMap == null) {
+                seatMaps.remove(row);
+            } else {
+                seatMaps.put(row, seatMap);
+            }
+        }
+
+        @Override
+        public FareBuckets getFareBuckets() {
+            return fareBuckets.get(row);
+        }
+
+        @Override
+        protected void storeFareBuckets(FareBuckets buckets) {
+            if (buckets == null) {
+                fareBuckets.remove(row);
+            } else {
+                fareBuckets.put(row, buckets);
+            }
+        }
+
+        @Override
+        public NoShowModel getNoShowModel() {
+            return noShowModels.get(row);
+        }
+
+        @Override
+        protected void storeNoShowModel(NoShowModel noShowModel) {
+            if (noShowModel == null) {
+                noShowModels.remove(row);
+            } else {
+                noShowModels.put(row, noShowModel);
+            }
+        }
+
+        @Override
+        public void addSeatListener(SeatListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("Listener cannot be null");
+            }
+            seatListeners.computeIfAbsent(row, r -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+
+        @Override
+        public void removeSeatListener(SeatListener listener) {
+            List<SeatListener> listeners = seatListeners.get(row);
+            if (listeners != null) {
+                listeners.remove(listener);
+            }
+        }
+
+        @Override
+        protected void notifySeatsChanged(int previousAvailable, int currentAvailable) {
+            List<SeatListener> listeners = seatListeners.get(row);
+            if (listeners == null) {
+                return;
+            }
+            for (SeatListener listener : listeners) {
+                listener.onSeatsChanged(this, previousAvailable, currentAvailable);
+            }
+        }
+    }
+}
\ No newline at end of file
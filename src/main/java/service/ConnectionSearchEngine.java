@@ -0,0 +1,355 @@
+package service;
+
+import model.Flight;
+import model.Itinerary;
+import model.NameDictionary;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds direct and connecting itineraries (up to two stops) over the flight graph.
+ * <p>
+ * The search is round-based in the style of RAPTOR: round k extends the itineraries
+ * found in round k-1 by one more flight. A flight has a single arrival time, so the
+ * only label worth keeping for it in a round is the cheapest way to board it; that is
+ * found with a sliding-window minimum over the arrivals at the connecting city, using
+ * the minimum and maximum connection times as the window. The returned itineraries are
+ * the Pareto set over arrival time, total price and number of stops.
+ */
+public class ConnectionSearchEngine {
+    public static final int MAX_STOPS = 2;
+    private static final Duration DEFAULT_MIN_CONNECTION = Duration.ofMinutes(45);
+    private static final Duration DEFAULT_MAX_CONNECTION = Duration.ofHours(6);
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final long minConnectionSeconds;
+    private final long maxConnectionSeconds;
+    private final List<Flight> flights;
+    private final Set<String> flightIds;
+    // Immutable snapshot searched by queries; rebuilt after flights are added
+    private Timetable timetable;
+
+    public ConnectionSearchEngine() {
+        this(DEFAULT_MIN_CONNECTION, DEFAULT_MAX_CONNECTION);
+    }
+
+    public ConnectionSearchEngine(Duration minConnectionTime, Duration maxConnectionTime) {
+        if (minConnectionTime == null || maxConnectionTime == null) {
+            throw new IllegalArgumentException("Connection times cannot be null");
+        }
+        if (minConnectionTime.isNegative()) {
+            throw new IllegalArgumentException("Minimum connection time cannot be negative");
+        }
+        if (minConnectionTime.compareTo(maxConnectionTime) > 0) {
+            throw new IllegalArgumentException("Minimum connection time cannot exceed maximum connection time");
+        }
+        this.minConnectionSeconds = minConnectionTime.getSeconds();
+        this.maxConnectionSeconds = maxConnectionTime.getSeconds();
+        this.flights = new ArrayList<>();
+        this.flightIds = new HashSet<>();
+    }
+
+    public synchronized void addFlight(Flight flight) {
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight cannot be null");
+        }
+        if (!flightIds.add(normalize(flight.getFlightId()))) {
+            throw new IllegalArgumentException("Flight already exists");
+        }
+        flights.add(flight);
+        timetable = null;
+    }
+
+    public synchronized int getTotalFlights() {
+        return flights.size();
+    }
+
+    public List<Itinerary> searchItineraries(String source, String destination, LocalDateTime date) {
+        return searchItineraries(source, destination, date, MAX_STOPS);
+    }
+
+    /**
+     * Pareto-optimal itineraries (arrival time, total price, stops) whose first flight
+     * departs from source on the given date, ordered by arrival time, then price, then stops
+     */
+    public List<Itinerary> searchItineraries(String source, String destination,
+                                             LocalDateTime date, int maxStops) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Source city cannot be empty");
+        }
+        if (destination == null || destination.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination city cannot be empty");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+        if (source.equalsIgnoreCase(destination)) {
+            throw new IllegalArgumentException("Source and destination cannot be same");
+        }
+        if (maxStops < 0 || maxStops > MAX_STOPS) {
+            throw new IllegalArgumentException("Max stops must be between 0 and " + MAX_STOPS);
+        }
+
+        Timetable snapshot = timetable();
+        int sourceCode = NameDictionary.CITIES.lookup(source);
+        int targetCode = NameDictionary.CITIES.lookup(destination);
+        if (!snapshot.hasCity(sourceCode) || !snapshot.hasCity(targetCode)) {
+            return new ArrayList<>();
+        }
+
+        long dayStart = date.toLocalDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        Labels labels = new Labels();
+
+        // Round 0: every bookable flight leaving the source on the travel date
+        int[] departures = snapshot.outgoing[sourceCode];
+        long[] departureTimes = snapshot.outgoingDepartures[sourceCode];
+        for (int i = lowerBound(departureTimes, dayStart); i < departures.length; i++) {
+            if (departureTimes[i] >= dayStart + SECONDS_PER_DAY) {
+                break;
+            }
+            int flight = departures[i];
+            if (snapshot.isBoardable(flight, sourceCode)) {
+                labels.add(flight, snapshot.price[flight], -1, 0);
+            }
+        }
+
+        int roundStart = 0;
+        int roundEnd = labels.size;
+        for (int round = 1; round <= maxStops && roundStart < roundEnd; round++) {
+            Map<Integer, List<Integer>> arrivalsByCity = new HashMap<>();
+            for (int label = roundStart; label < roundEnd; label++) {
+                int city = snapshot.to[labels.flight[label]];
+                if (city != targetCode) {
+                    arrivalsByCity.computeIfAbsent(city, c -> new ArrayList<>()).add(label);
+                }
+            }
+            for (Map.Entry<Integer, List<Integer>> entry : arrivalsByCity.entrySet()) {
+                extendAtCity(snapshot, labels, entry.getKey(), entry.getValue(), sourceCode, round);
+            }
+            roundStart = roundEnd;
+            roundEnd = labels.size;
+        }
+
+        return paretoItineraries(snapshot, labels, targetCode);
+    }
+
+    // Boards every flight leaving the city with the cheapest arrival that can connect to it
+    private void extendAtCity(Timetable snapshot, Labels labels, int city, List<Integer> arrivals,
+                              int sourceCode, int round) {
+        int[] arriving = arrivals.stream()
+                .sorted(Comparator.comparingLong(label -> snapshot.arrival[labels.flight[label]]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long firstDeparture = snapshot.arrival[labels.flight[arriving[0]]] + minConnectionSeconds;
+        long lastDeparture = snapshot.arrival[labels.flight[arriving[arriving.length - 1]]] + maxConnectionSeconds;
+
+        int[] departures = snapshot.outgoing[city];
+        long[] departureTimes = snapshot.outgoingDepartures[city];
+        // Positions into arriving, cheapest at the head; arrivals stay in arrival order
+        int[] window = new int[arriving.length];
+        int head = 0;
+        int tail = 0;
+        int next = 0;
+        for (int i = lowerBound(departureTimes, firstDeparture); i < departures.length; i++) {
+            long departure = departureTimes[i];
+            if (departure > lastDeparture) {
+                break;
+            }
+            while (next < arriving.length
+                    && snapshot.arrival[labels.flight[arriving[next]]] <= departure - minConnectionSeconds) {
+                double cost = labels.cost[arriving[next]];
+                while (tail > head && labels.cost[arriving[window[tail - 1]]] >= cost) {
+                    tail--;
+                }
+                window[tail++] = next++;
+            }
+            while (tail > head
+                    && snapshot.arrival[labels.flight[arriving[window[head]]]] < departure - maxConnectionSeconds) {
+                head++;
+            }
+            int flight = departures[i];
+            if (tail == head || !snapshot.isBoardable(flight, sourceCode)) {
+                continue;
+            }
+            int best = arriving[window[head]];
+            labels.add(flight, labels.cost[best] + snapshot.price[flight], best, round);
+        }
+    }
+
+    private List<Itinerary> paretoItineraries(Timetable snapshot, Labels labels, int targetCode) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int label = 0; label < labels.size; label++) {
+            if (snapshot.to[labels.flight[label]] == targetCode) {
+                candidates.add(label);
+            }
+        }
+        candidates.sort(Comparator.<Integer>comparingLong(label -> snapshot.arrival[labels.flight[label]])
+                .thenComparingDouble(label -> labels.cost[label])
+                .thenComparingInt(label -> labels.round[label]));
+
+        // Candidates are visited in arrival order, so an earlier one dominates a later one
+        // if it is no more expensive with no more stops, and strictly better somewhere.
+        double[] cheapest = new double[MAX_STOPS + 1];
+        long[] cheapestArrival = new long[MAX_STOPS + 1];
+        Arrays.fill(cheapest, Double.POSITIVE_INFINITY);
+        List<Itinerary> result = new ArrayList<>();
+        for (int label : candidates) {
+            long arrival = snapshot.arrival[labels.flight[label]];
+            double cost = labels.cost[label];
+            int stops = labels.round[label];
+            boolean dominated = false;
+            for (int s = 0; s <= stops && !dominated; s++) {
+                dominated = cheapest[s] < cost
+                        || (cheapest[s] == cost && (s < stops || cheapestArrival[s] < arrival));
+            }
+            if (dominated) {
+                continue;
+            }
+            if (cost < cheapest[stops]) {
+                cheapest[stops] = cost;
+                cheapestArrival[stops] = arrival;
+            }
+            result.add(toItinerary(snapshot, labels, label));
+        }
+        return result;
+    }
+
+    private Itinerary toItinerary(Timetable snapshot, Labels labels, int label) {
+        List<Flight> legs = new ArrayList<>();
+        for (int current = label; current >= 0; current = labels.parent[current]) {
+            legs.add(snapshot.flights[labels.flight[current]]);
+        }
+        Collections.reverse(legs);
+        return new Itinerary(legs);
+    }
+
+    private synchronized Timetable timetable() {
+        if (timetable == null) {
+            timetable = new Timetable(flights);
+        }
+        return timetable;
+    }
+
+    // First index whose value is >= key
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? NameDictionary.fold(value) : null;
+    }
+
+    /**
+     * Columnar copy of the schedule with flights grouped by origin city and sorted by departure
+     */
+    private static final class Timetable {
+        private final Flight[] flights;
+        private final long[] arrival;
+        private final double[] price;
+        private final int[] from;
+        private final int[] to;
+        private final int[][] outgoing;
+        private final long[][] outgoingDepartures;
+
+        private Timetable(List<Flight> schedule) {
+            int n = schedule.size();
+            flights = schedule.toArray(new Flight[0]);
+            long[] departure = new long[n];
+            arrival = new long[n];
+            price = new double[n];
+            from = new int[n];
+            to = new int[n];
+            int cities = 0;
+            for (int i = 0; i < n; i++) {
+                Flight flight = flights[i];
+                departure[i] = flight.getDepartureTime().toEpochSecond(ZoneOffset.UTC);
+                arrival[i] = flight.getArrivalTime().toEpochSecond(ZoneOffset.UTC);
+                price[i] = flight.getPricePerSeat();
+                from[i] = flight.getSourceCityCode();
+                to[i] = flight.getDestinationCityCode();
+                cities = Math.max(cities, Math.max(from[i], to[i]) + 1);
+            }
+
+            Integer[] byDeparture = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                byDeparture[i] = i;
+            }
+            Arrays.sort(byDeparture, Comparator.comparingLong(i -> departure[i]));
+            int[] counts = new int[cities];
+            for (int i = 0; i < n; i++) {
+                counts[from[i]]++;
+            }
+            outgoing = new int[counts.length][];
+            outgoingDepartures = new long[counts.length][];
+            for (int city = 0; city < counts.length; city++) {
+                outgoing[city] = new int[counts[city]];
+                outgoingDepartures[city] = new long[counts[city]];
+            }
+            int[] filled = new int[counts.length];
+            for (int flight : byDeparture) {
+                int city = from[flight];
+                outgoing[city][filled[city]] = flight;
+                outgoingDepartures[city][filled[city]] = departure[flight];
+                filled[city]++;
+            }
+        }
+
+        // Whether any flight in the snapshot leaves from or arrives at the city
+        private boolean hasCity(int cityCode) {
+            return cityCode >= 0 && cityCode < outgoing.length;
+        }
+
+        // Seats left, and the flight neither loops nor heads back to the itinerary's origin
+        private boolean isBoardable(int flight, int sourceCode) {
+            return to[flight] != sourceCode && to[flight] != from[flight]
+                    && flights[flight].getAvailableSeats() > 0;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of search labels: the flight boarded, the cheapest total
+     * price to reach it, the label it connected from (-1 for the first leg) and its round
+     */
+    private static final class Labels {
+        private int size;
+        private int[] flight = new int[64];
+        private double[] cost = new double[64];
+        private int[] parent = new int[64];
+        private int[] round = new int[64];
+
+        private void add(int flightIndex, double totalCost, int parentLabel, int roundNumber) {
+            if (size == flight.length) {
+                int capacity = size * 2;
+                flight = Arrays.copyOf(flight, capacity);
+                cost = Arrays.copyOf(cost, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                round = Arrays.copyOf(round, capacity);
+            }
+            flight[size] = flightIndex;
+            cost[size] = totalCost;
+            parent[size] = parentLabel;
+            round[size] = roundNumber;
+            size++;
+        }
+    }
+}
\ No newline at end of file
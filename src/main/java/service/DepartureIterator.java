@@ -0,0 +1,65 @@
+package service;
+
+import model.Flight;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily walks a route's days in date order and each day's flights in departure
+ * order, yielding flights with seats left up to the last departure second.
+ * Nothing is read ahead beyond the next match.
+ */
+class DepartureIterator implements Iterator<Flight> {
+    private final Iterator<RouteDayFlights> days;
+    private final long firstDeparture;
+    // resume strictly after (firstDeparture, afterFlightId) when set, else start inclusive
+    private final String afterFlightId;
+    private final long lastDeparture;
+    private RouteDayFlights day;
+    private int position;
+    private Flight next;
+    private boolean exhausted;
+
+    DepartureIterator(Iterator<RouteDayFlights> days, long firstDeparture, String afterFlightId, long lastDeparture) {
+        this.days = days;
+        this.firstDeparture = firstDeparture;
+        this.afterFlightId = afterFlightId;
+        this.lastDeparture = lastDeparture;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !exhausted) {
+            if (day == null || position == day.size()) {
+                if (!days.hasNext()) {
+                    exhausted = true;
+                    break;
+                }
+                day = days.next();
+                position = afterFlightId != null
+                        ? day.positionAfter(firstDeparture, afterFlightId)
+                        : day.firstPositionFrom(firstDeparture);
+                continue;
+            }
+            if (day.departureSecondAt(position) > lastDeparture) {
+                exhausted = true;
+                break;
+            }
+            Flight flight = day.departureAt(position++);
+            if (flight.getAvailableSeats() > 0) {
+                next = flight;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Flight next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Flight flight = next;
+        next = null;
+        return flight;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package service;
+
+import model.Flight;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Multi-predicate flight search for {@link FlightSearchEngine#search(FlightQuery)}.
+ * <p>
+ * Route and departure date range are required; every other predicate is optional and
+ * added by chaining. Only flights with at least one seat left match unless a higher
+ * minimum is set. Names compare case-insensitively.
+ */
+public class FlightQuery {
+    private final String source;
+    private final String destination;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private Set<String> airlines;
+    private double minPrice;
+    private double maxPrice = Double.MAX_VALUE;
+    private int minSeats = 1;
+    private LocalTime departureFrom;
+    private LocalTime departureTo;
+    private Duration maxDuration;
+
+    public FlightQuery(String source, String destination, LocalDate startDate, LocalDate endDate) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Source city cannot be empty");
+        }
+        if (destination == null || destination.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination city cannot be empty");
+        }
+        if (source.equalsIgnoreCase(destination)) {
+            throw new IllegalArgumentException("Source and destination cannot be same");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        this.source = source;
+        this.destination = destination;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public FlightQuery(String source, String destination, LocalDate date) {
+        this(source, destination, date, date);
+    }
+
+    /**
+     * Restricts results to any of the given airlines
+     */
+    public FlightQuery airlines(String... names) {
+        if (names == null || names.length == 0) {
+            throw new IllegalArgumentException("Airlines cannot be empty");
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Airline cannot be empty");
+            }
+            selected.add(name);
+        }
+        this.airlines = Collections.unmodifiableSet(selected);
+        return this;
+    }
+
+    public FlightQuery priceBetween(double minPrice, double maxPrice) {
+        if (minPrice < 0 || maxPrice < 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("Min price cannot be greater than max price");
+        }
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        return this;
+    }
+
+    public FlightQuery minSeats(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Required seats must be positive");
+        }
+        this.minSeats = seats;
+        return this;
+    }
+
+    /**
+     * Departure time of day within [from, to]; a window with from after to spans midnight
+     */
+    public FlightQuery departingBetween(LocalTime from, LocalTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Departure window cannot be null");
+        }
+        this.departureFrom = from;
+        this.departureTo = to;
+        return this;
+    }
+
+    public FlightQuery maxDuration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Max duration must be positive");
+        }
+        this.maxDuration = duration;
+        return this;
+    }
+
+    public String getSource() { return source; }
+    public String getDestination() { return destination; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    // null when any airline matches
+    public Set<String> getAirlines() { return airlines; }
+    public double getMinPrice() { return minPrice; }
+    public double getMaxPrice() { return maxPrice; }
+    public int getMinSeats() { return minSeats; }
+    public LocalTime getDepartureFrom() { return departureFrom; }
+    public LocalTime getDepartureTo() { return departureTo; }
+    public Duration getMaxDuration() { return maxDuration; }
+
+    public boolean hasPriceBand() {
+        return minPrice > 0 || maxPrice < Double.MAX_VALUE;
+    }
+
+    public boolean hasDepartureWindow() {
+        return departureFrom != null;
+    }
+
+    /**
+     * Exact evaluation of every predicate against one flight
+     */
+    public boolean matches(Flight flight) {
+        if (!flight.getSourceCity().equalsIgnoreCase(source)
+                || !flight.getDestinationCity().equalsIgnoreCase(destination)) {
+            return false;
+        }
+        LocalDate date = flight.getDepartureTime().toLocalDate();
+        if (date.isBefore(startDate) || date.isAfter(endDate)) {
+            return false;
+        }
+        if (airlines != null && airlines.stream().noneMatch(a -> a.equalsIgnoreCase(flight.getAirline()))) {
+            return false;
+        }
+        return matchesVolatile(flight);
+    }
+
+    // The predicates the route-day bitmaps cannot settle exactly: bucket edges and live seat counts
+    boolean matchesVolatile(Flight flight) {
+        double price = flight.getPricePerSeat();
+        if (price < minPrice || price > maxPrice) {
+            return false;
+        }
+        if (flight.getAvailableSeats() < minSeats) {
+            return false;
+        }
+        if (departureFrom != null && !isInDepartureWindow(flight.getDepartureTime().toLocalTime())) {
+            return false;
+        }
+        return maxDuration == null || flight.getFlightDuration() <= maxDuration.toMinutes();
+    }
+
+    private boolean isInDepartureWindow(LocalTime time) {
+        if (!departureFrom.isAfter(departureTo)) {
+            return !time.isBefore(departureFrom) && !time.isAfter(departureTo);
+        }
+        return !time.isBefore(departureFrom) || !time.isAfter(departureTo);
+    }
+
+    @Override
+    public String toString() {
+        return "FlightQuery{" +
+                "source='" + source + '\'' +
+                ", destination='" + destination + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", airlines=" + airlines +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", minSeats=" + minSeats +
+                ", departureFrom=" + departureFrom +
+                ", departureTo=" + departureTo +
+                ", maxDuration=" + maxDuration +
+                '}';
+    }
+}
\ No newline at end of file
@@ -1,58 +1,111 @@
 package service;
 
+import model.FareCalendarDay;
+import model.FareBuckets;
+import model.FareQuote;
 import model.Flight;
+import model.NameDictionary;
+import model.SearchCursor;
+import model.SearchPage;
+import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class FlightSearchEngine {
+    // longest window a fare calendar may span, enough for a two-month grid view
+    public static final int MAX_CALENDAR_DAYS = 60;
+    // scans over fewer candidates than this stay sequential unless configured otherwise
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16_384;
+
     private List<Flight> flightDatabase;
+    // case-folded flight ID -> flight
+    private Map<String, Flight> flightsById;
+    // (source, destination) city codes packed in a long -> departure date -> flights of that route-day
+    private Map<Long, TreeMap<LocalDate, RouteDayFlights>> routeIndex;
+    // null when caching is disabled
+    private final SearchResultCache resultCache;
+    // null while parallel search is disabled
+    private volatile ForkJoinPool searchPool;
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 
     public FlightSearchEngine() {
+        this((SearchResultCache) null);
+    }
+
+    /**
+     * Engine that caches up to cacheCapacity search results, least recently used evicted first.
+     * Cached results are dropped when a flight is added to their route-day or when a seat
+     * change crosses the availability threshold their filter depends on.
+     */
+    public FlightSearchEngine(int cacheCapacity) {
+        this(new SearchResultCache(cacheCapacity));
+    }
+
+    private FlightSearchEngine(SearchResultCache resultCache) {
         this.flightDatabase = new ArrayList<>();
+        this.flightsById = new HashMap<>();
+        this.routeIndex = new HashMap<>();
+        this.resultCache = resultCache;
     }
 
     public void addFlight(Flight flight) {
         if (flight == null) {
             throw new IllegalArgumentException("Flight cannot be null");
         }
-        if (flightDatabase.contains(flight)) {
+        if (flightsById.putIfAbsent(flightKey(flight.getFlightId()), flight) != null) {
             throw new IllegalArgumentException("Flight already exists");
         }
         flightDatabase.add(flight);
+        RouteDayFlights routeDay = routeIndex.computeIfAbsent(routeKey(flight), k -> new TreeMap<>())
+                .computeIfAbsent(flight.getDepartureTime().toLocalDate(), d -> new RouteDayFlights());
+        routeDay.add(flight);
+        if (resultCache != null) {
+            resultCache.invalidateRouteDay(routeDay);
+            flight.addSeatListener((f, previous, current) -> onSeatsChanged(routeDay, previous, current));
+        }
     }
 
     public List<Flight> searchFlights(String source, String destination, LocalDateTime date) {
-        if (source == null || source.trim().isEmpty()) {
-            throw new IllegalArgumentException("Source city cannot be empty");
-        }
-        if (destination == null || destination.trim().isEmpty()) {
-            throw new IllegalArgumentException("Destination city cannot be empty");
-        }
-        if (date == null) {
-            throw new IllegalArgumentException("Travel date cannot be null");
-        }
-        if (source.equalsIgnoreCase(destination)) {
-            throw new IllegalArgumentException("Source and destination cannot be same");
-        }
+        validateRoute(source, destination, date);
 
-        return flightDatabase.stream()
-                .filter(f -> f.getSourceCity().equalsIgnoreCase(source) &&
-                           f.getDestinationCity().equalsIgnoreCase(destination) &&
-                           isSameDay(f.getDepartureTime(), date) &&
-                           f.getAvailableSeats() > 0)
-                .collect(Collectors.toList());
+        return cached(source, destination, date, "all", 1, routeDay -> routeDay.flights().stream()
+                .filter(f -> f.getAvailableSeats() > 0)
+                .collect(Collectors.toList()));
     }
 
     public List<Flight> searchFlightsByAirline(String source, String destination,
                                                LocalDateTime date, String airline) {
-        List<Flight> flights = searchFlights(source, destination, date);
-        return flights.stream()
-                .filter(f -> f.getAirline().equalsIgnoreCase(airline))
-                .collect(Collectors.toList());
+        validateRoute(source, destination, date);
+        int airlineCode = NameDictionary.AIRLINES.lookup(airline);
+        if (airline == null || airlineCode == NameDictionary.UNKNOWN) {
+            return new ArrayList<>();
+        }
+
+        return cached(source, destination, date, "airline:" + airlineCode, 1,
+                routeDay -> routeDay.availableForAirline(airlineCode));
     }
 
+    /**
+     * Available flights priced within [minPrice, maxPrice], cheapest first
+     */
     public List<Flight> searchFlightsByPriceRange(String source, String destination,
                                                    LocalDateTime date, double minPrice, double maxPrice) {
         if (minPrice < 0 || maxPrice < 0) {
@@ -61,11 +114,137 @@ public class FlightSearchEngine {
         if (minPrice > maxPrice) {
             throw new IllegalArgumentException("Min price cannot be greater than max price");
         }
+        validateRoute(source, destination, date);
+
+        return cached(source, destination, date, "price:" + minPrice + ':' + maxPrice, 1,
+                routeDay -> routeDay.availableInPriceRange(minPrice, maxPrice));
+    }
+
+    /**
+     * Up to k available flights for the route-day, cheapest first
+     */
+    public List<Flight> cheapestFlights(String source, String destination, LocalDateTime date, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of flights must be positive");
+        }
+        validateRoute(source, destination, date);
+
+        return cached(source, destination, date, "cheapest:" + k, 1,
+                routeDay -> routeDay.cheapestAvailable(k));
+    }
+
+    /**
+     * Available flights departing within [earliestDeparture, latestDeparture], in departure
+     * order. The window may span midnight or several days.
+     */
+    public List<Flight> searchFlightsDepartingBetween(String source, String destination,
+                                                      LocalDateTime earliestDeparture,
+                                                      LocalDateTime latestDeparture) {
+        return scanDepartures(source, destination, earliestDeparture, latestDeparture, null, null);
+    }
+
+    /**
+     * Available flights departing within [earliestDeparture, latestDeparture] whose
+     * scheduled duration is at most maxDuration, in departure order
+     */
+    public List<Flight> searchFlightsDepartingBetween(String source, String destination,
+                                                      LocalDateTime earliestDeparture,
+                                                      LocalDateTime latestDeparture, Duration maxDuration) {
+        if (maxDuration == null || maxDuration.isNegative() || maxDuration.isZero()) {
+            throw new IllegalArgumentException("Max duration must be positive");
+        }
+        return scanDepartures(source, destination, earliestDeparture, latestDeparture, null, maxDuration);
+    }
+
+    /**
+     * Available flights departing at or after earliestDeparture and arriving by
+     * latestArrival, in departure order
+     */
+    public List<Flight> searchFlightsArrivingBy(String source, String destination,
+                                                LocalDateTime earliestDeparture, LocalDateTime latestArrival) {
+        return scanDepartures(source, destination, earliestDeparture, latestArrival, latestArrival, null);
+    }
+
+    /**
+     * Lowest available fare and flight count for each day within days of centerDate
+     */
+    public List<FareCalendarDay> fareCalendar(String source, String destination,
+                                              LocalDateTime centerDate, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days cannot be negative");
+        }
+        validateRoute(source, destination, centerDate);
+
+        LocalDate center = centerDate.toLocalDate();
+        return fareCalendar(source, destination, center.minusDays(days), center.plusDays(days));
+    }
+
+    /**
+     * Lowest available fare and flight count for each day in [startDate, endDate],
+     * one entry per day including days without flights, whose lowest fare is NaN
+     */
+    public List<FareCalendarDay> fareCalendar(String source, String destination,
+                                              LocalDate startDate, LocalDate endDate) {
+        validateCities(source, destination);
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar window cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
 
-        List<Flight> flights = searchFlights(source, destination, date);
-        return flights.stream()
-                .filter(f -> f.getPricePerSeat() >= minPrice && f.getPricePerSeat() <= maxPrice)
-                .collect(Collectors.toList());
+        List<FareCalendarDay> calendar = new ArrayList<>();
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(source, destination);
+        LocalDate day = startDate;
+        if (routeDays != null) {
+            for (Map.Entry<LocalDate, RouteDayFlights> entry
+                    : routeDays.subMap(startDate, true, endDate, true).entrySet()) {
+                for (; day.isBefore(entry.getKey()); day = day.plusDays(1)) {
+                    calendar.add(new FareCalendarDay(day, Double.NaN, 0));
+                }
+                calendar.add(entry.getValue().summarize(day));
+                day = day.plusDays(1);
+            }
+        }
+        for (; !day.isAfter(endDate); day = day.plusDays(1)) {
+            calendar.add(new FareCalendarDay(day, Double.NaN, 0));
+        }
+        return calendar;
+    }
+
+    /**
+     * Flights matching every predicate of the query, by departure date and then in
+     * the order they were added. Each route-day intersects its attribute bitmaps
+     * before any flight is read.
+     */
+    public List<Flight> search(FlightQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<Flight> result = new ArrayList<>();
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(query.getSource(), query.getDestination());
+        if (routeDays == null) {
+            return result;
+        }
+
+        int[] airlineCodes = null;
+        if (query.getAirlines() != null) {
+            airlineCodes = query.getAirlines().stream()
+                    .mapToInt(NameDictionary.AIRLINES::lookup)
+                    .filter(code -> code != NameDictionary.UNKNOWN)
+                    .toArray();
+            if (airlineCodes.length == 0) {
+                return result;
+            }
+        }
+        for (RouteDayFlights routeDay
+                : routeDays.subMap(query.getStartDate(), true, query.getEndDate(), true).values()) {
+            result.addAll(routeDay.select(query, airlineCodes));
+        }
+        return result;
     }
 
     public List<Flight> searchFlightsBySeatsAvailable(String source, String destination,
@@ -74,10 +253,49 @@ public class FlightSearchEngine {
             throw new IllegalArgumentException("Required seats must be positive");
         }
 
-        List<Flight> flights = searchFlights(source, destination, date);
-        return flights.stream()
-                .filter(f -> f.getAvailableSeats() >= requiredSeats)
-                .collect(Collectors.toList());
+        validateRoute(source, destination, date);
+
+        return cached(source, destination, date, "seats:" + requiredSeats, requiredSeats,
+                routeDay -> routeDay.flights().stream()
+                        .filter(f -> f.getAvailableSeats() >= requiredSeats)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Every flight of the route-day that can seat the party, priced at its lowest open
+     * fare bucket, cheapest first. Flights without fare buckets are quoted at their
+     * plain price.
+     */
+    public List<FareQuote> searchLowestFares(String source, String destination,
+                                             LocalDateTime date, int requiredSeats) {
+        if (requiredSeats <= 0) {
+            throw new IllegalArgumentException("Required seats must be positive");
+        }
+        validateRoute(source, destination, date);
+
+        List<FareQuote> quotes = new ArrayList<>();
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(source, destination);
+        RouteDayFlights routeDay = routeDays != null ? routeDays.get(date.toLocalDate()) : null;
+        if (routeDay == null) {
+            return quotes;
+        }
+        for (Flight flight : routeDay.flights()) {
+            if (flight.getAvailableSeats() < requiredSeats) {
+                continue;
+            }
+            FareBuckets buckets = flight.getFareBuckets();
+            if (buckets == null) {
+                quotes.add(new FareQuote(flight, null, flight.getPricePerSeat()));
+                continue;
+            }
+            String fareClass = buckets.getLowestOpenFareClass(requiredSeats);
+            if (fareClass != null) {
+                quotes.add(new FareQuote(flight, fareClass, buckets.getPrice(fareClass)));
+            }
+        }
+        // stable, so equal fares keep the order flights were added
+        quotes.sort(Comparator.comparingDouble(FareQuote::getPrice));
+        return quotes;
     }
 
     public Flight findFlightById(String flightId) {
@@ -85,17 +303,317 @@ public class FlightSearchEngine {
             throw new IllegalArgumentException("Flight ID cannot be empty");
         }
 
-        return flightDatabase.stream()
-                .filter(f -> f.getFlightId().equalsIgnoreCase(flightId))
-                .findFirst()
-                .orElse(null);
+        return flightsById.get(flightKey(flightId));
     }
 
     public int getTotalFlights() {
         return flightDatabase.size();
     }
 
-    private boolean isSameDay(LocalDateTime dateTime1, LocalDateTime dateTime2) {
-        return dateTime1.toLocalDate().equals(dateTime2.toLocalDate());
+    // ==================== PARALLEL SEARCH ====================
+
+    /**
+     * Runs analytics scans on a dedicated pool of the given parallelism. Scans over fewer
+     * than DEFAULT_PARALLEL_THRESHOLD candidates still run on the calling thread.
+     */
+    public void enableParallelSearch(int parallelism) {
+        enableParallelSearch(parallelism, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public synchronized void enableParallelSearch(int parallelism, int sequentialThreshold) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException("Sequential threshold cannot be negative");
+        }
+        ForkJoinPool previous = searchPool;
+        parallelThreshold = sequentialThreshold;
+        searchPool = new ForkJoinPool(parallelism);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    public synchronized void disableParallelSearch() {
+        if (searchPool != null) {
+            searchPool.shutdown();
+            searchPool = null;
+        }
+    }
+
+    public int getSearchParallelism() {
+        ForkJoinPool pool = searchPool;
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    /**
+     * Every flight matching the predicate, in the order flights were added. Meant for
+     * analytics over the whole schedule; runs in parallel when enabled and large enough.
+     */
+    public List<Flight> findFlights(Predicate<Flight> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("Predicate cannot be null");
+        }
+        return filter(flightDatabase, predicate);
+    }
+
+    /**
+     * Available flights leaving the hub on any day in [startDate, endDate], to every
+     * destination. Grouped by route, then in departure-date order.
+     */
+    public List<Flight> searchFlightsFrom(String source, LocalDate startDate, LocalDate endDate) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Source city cannot be empty");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        int sourceCode = NameDictionary.CITIES.lookup(source);
+        if (sourceCode == NameDictionary.UNKNOWN) {
+            return new ArrayList<>();
+        }
+
+        List<Flight> candidates = new ArrayList<>();
+        for (Map.Entry<Long, TreeMap<LocalDate, RouteDayFlights>> route : routeIndex.entrySet()) {
+            if ((int) (route.getKey() >>> 32) != sourceCode) {
+                continue;
+            }
+            for (RouteDayFlights routeDay : route.getValue().subMap(startDate, true, endDate, true).values()) {
+                candidates.addAll(routeDay.flights());
+            }
+        }
+        return filter(candidates, f -> f.getAvailableSeats() > 0);
+    }
+
+    // Sequential below the threshold; otherwise the list's spliterator chunks are filtered on the pool
+    private List<Flight> filter(List<Flight> candidates, Predicate<Flight> predicate) {
+        ForkJoinPool pool = searchPool;
+        if (pool == null || candidates.size() < parallelThreshold) {
+            return candidates.stream().filter(predicate).collect(Collectors.toList());
+        }
+        // a parallel stream started from inside a pool task runs on that pool
+        return pool.submit(() -> candidates.parallelStream().filter(predicate).collect(Collectors.toList()))
+                .join();
+    }
+
+    // ==================== STREAMING / PAGINATION ====================
+
+    /**
+     * Lazy version of searchFlightsDepartingBetween: flights are found as the iterator
+     * advances, so a caller that stops early never touches the rest of the window
+     */
+    public Iterator<Flight> iterateFlightsDepartingBetween(String source, String destination,
+                                                           LocalDateTime earliestDeparture,
+                                                           LocalDateTime latestDeparture) {
+        return departureIterator(source, destination, earliestDeparture, latestDeparture, null);
+    }
+
+    public Stream<Flight> streamFlightsDepartingBetween(String source, String destination,
+                                                       LocalDateTime earliestDeparture,
+                                                       LocalDateTime latestDeparture) {
+        return stream(iterateFlightsDepartingBetween(source, destination, earliestDeparture, latestDeparture));
+    }
+
+    /**
+     * Lazy stream of the available flights of a route-day, cheapest first
+     */
+    public Stream<Flight> streamFlightsByPrice(String source, String destination, LocalDateTime date) {
+        validateRoute(source, destination, date);
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(source, destination);
+        RouteDayFlights routeDay = routeDays != null ? routeDays.get(date.toLocalDate()) : null;
+        if (routeDay == null) {
+            return Stream.empty();
+        }
+        return routeDay.flightsByPrice().stream().filter(f -> f.getAvailableSeats() > 0);
+    }
+
+    /**
+     * Up to pageSize available flights departing within [earliestDeparture, latestDeparture],
+     * ordered by departure time and then flight ID, resuming after the cursor when one is given
+     */
+    public SearchPage searchFlightsPage(String source, String destination, LocalDateTime earliestDeparture,
+                                        LocalDateTime latestDeparture, SearchCursor after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Iterator<Flight> flights = departureIterator(source, destination, earliestDeparture, latestDeparture, after);
+        List<Flight> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && flights.hasNext()) {
+            page.add(flights.next());
+        }
+        SearchCursor next = flights.hasNext() ? SearchCursor.after(page.get(page.size() - 1)) : null;
+        return new SearchPage(page, next);
+    }
+
+    private Iterator<Flight> departureIterator(String source, String destination, LocalDateTime from,
+                                               LocalDateTime to, SearchCursor after) {
+        validateWindow(source, destination, from, to);
+
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(source, destination);
+        if (routeDays == null) {
+            return Collections.emptyIterator();
+        }
+        boolean resume = after != null && !after.getDepartureTime().isBefore(from);
+        LocalDateTime start = resume ? after.getDepartureTime() : from;
+        if (start.isAfter(to)) {
+            return Collections.emptyIterator();
+        }
+        Iterator<RouteDayFlights> days = routeDays.subMap(start.toLocalDate(), true, to.toLocalDate(), true)
+                .values().iterator();
+        return new DepartureIterator(days, start.toEpochSecond(ZoneOffset.UTC),
+                resume ? after.getFlightId() : null, to.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    private static Stream<Flight> stream(Iterator<Flight> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Range scan over the route's departure-ordered days; null limits are unbounded
+    private List<Flight> scanDepartures(String source, String destination, LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime latestArrival, Duration maxDuration) {
+        validateWindow(source, destination, from, to);
+
+        List<Flight> result = new ArrayList<>();
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeDays(source, destination);
+        if (routeDays == null) {
+            return result;
+        }
+        long earliest = from.toEpochSecond(ZoneOffset.UTC);
+        long latest = to.toEpochSecond(ZoneOffset.UTC);
+        long arrivalLimit = latestArrival != null ? latestArrival.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        long durationLimit = maxDuration != null ? maxDuration.getSeconds() : Long.MAX_VALUE;
+        for (RouteDayFlights routeDay
+                : routeDays.subMap(from.toLocalDate(), true, to.toLocalDate(), true).values()) {
+            routeDay.departingBetween(earliest, latest, arrivalLimit, durationLimit, result);
+        }
+        return result;
+    }
+
+    // ==================== RESULT CACHE ====================
+
+    public long getCacheHitCount() {
+        return resultCache != null ? resultCache.getHitCount() : 0;
+    }
+
+    public long getCacheMissCount() {
+        return resultCache != null ? resultCache.getMissCount() : 0;
+    }
+
+    public long getCacheEvictionCount() {
+        return resultCache != null ? resultCache.getEvictionCount() : 0;
+    }
+
+    public int getCachedResultCount() {
+        return resultCache != null ? resultCache.size() : 0;
+    }
+
+    /**
+     * Runs the search against the route-day, going through the result cache when enabled.
+     * seatThreshold is the availability level the filter depends on (1 for "not sold out").
+     */
+    private List<Flight> cached(String source, String destination, LocalDateTime date, String filter,
+                                int seatThreshold, Function<RouteDayFlights, List<Flight>> search) {
+        int sourceCode = NameDictionary.CITIES.lookup(source);
+        int destinationCode = NameDictionary.CITIES.lookup(destination);
+        if (sourceCode == NameDictionary.UNKNOWN || destinationCode == NameDictionary.UNKNOWN) {
+            // no flight has ever named one of the cities
+            return new ArrayList<>();
+        }
+        long routeKey = routeKey(sourceCode, destinationCode);
+        LocalDate day = date.toLocalDate();
+        RouteDayFlights routeDay = routeDay(routeKey, day);
+        if (routeDay == null) {
+            // nothing to cache, and nothing worth caching
+            return new ArrayList<>();
+        }
+        if (resultCache == null) {
+            return search.apply(routeDay);
+        }
+
+        String key = routeDayKey(routeKey, day) + '\u0000' + filter;
+        List<Flight> hit = resultCache.get(key);
+        if (hit != null) {
+            return new ArrayList<>(hit);
+        }
+        long version = routeDay.version();
+        List<Flight> result = search.apply(routeDay);
+        resultCache.put(key, routeDay, seatThreshold, new ArrayList<>(result), version);
+        return result;
+    }
+
+    // Runs on every booking; takes the cache monitor only when a cached result is affected
+    private void onSeatsChanged(RouteDayFlights routeDay, int previousAvailable, int currentAvailable) {
+        routeDay.bumpVersion();
+        if (routeDay.crossesCachedSeatThreshold(previousAvailable, currentAvailable)) {
+            resultCache.onSeatsChanged(routeDay, previousAvailable, currentAvailable);
+        }
+    }
+
+    private void validateRoute(String source, String destination, LocalDateTime date) {
+        validateCities(source, destination);
+        if (date == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+    }
+
+    private void validateWindow(String source, String destination, LocalDateTime from, LocalDateTime to) {
+        validateRoute(source, destination, from);
+        if (to == null) {
+            throw new IllegalArgumentException("Travel date cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start time cannot be after end time");
+        }
+    }
+
+    private void validateCities(String source, String destination) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Source city cannot be empty");
+        }
+        if (destination == null || destination.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination city cannot be empty");
+        }
+        if (source.equalsIgnoreCase(destination)) {
+            throw new IllegalArgumentException("Source and destination cannot be same");
+        }
+    }
+
+    private RouteDayFlights routeDay(long routeKey, LocalDate date) {
+        TreeMap<LocalDate, RouteDayFlights> routeDays = routeIndex.get(routeKey);
+        return routeDays != null ? routeDays.get(date) : null;
+    }
+
+    private TreeMap<LocalDate, RouteDayFlights> routeDays(String source, String destination) {
+        int sourceCode = NameDictionary.CITIES.lookup(source);
+        int destinationCode = NameDictionary.CITIES.lookup(destination);
+        if (sourceCode == NameDictionary.UNKNOWN || destinationCode == NameDictionary.UNKNOWN) {
+            return null;
+        }
+        return routeIndex.get(routeKey(sourceCode, destinationCode));
+    }
+
+    private static String routeDayKey(long routeKey, LocalDate date) {
+        return routeKey + ":" + date;
+    }
+
+    private static String flightKey(String flightId) {
+        return flightId != null ? normalize(flightId) : null;
+    }
+
+    private static long routeKey(Flight flight) {
+        return routeKey(flight.getSourceCityCode(), flight.getDestinationCityCode());
+    }
+
+    private static long routeKey(int sourceCode, int destinationCode) {
+        return ((long) sourceCode << 32) | (destinationCode & 0xFFFFFFFFL);
+    }
+
+    private static String normalize(String value) {
+        return NameDictionary.fold(value);
     }
 }
\ No newline at end of file
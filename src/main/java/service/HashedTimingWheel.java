@@ -0,0 +1,125 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, each holding the timeouts that
+ * fall due when the hand reaches it.
+ * <p>
+ * Scheduling and cancelling are O(1) list splices, and a tick only visits the bucket
+ * under the hand, so the cost of a tick does not grow with the number of outstanding
+ * timeouts elsewhere on the wheel. Timeouts more than one rotation out wait in their
+ * bucket and are skipped until their deadline tick comes round. The wheel has no
+ * thread of its own; its owner moves the hand with {@link #advance(int)}. All
+ * operations share the wheel's monitor, so owners with independent timeouts keep
+ * one wheel per partition rather than sharing one.
+ */
+class HashedTimingWheel<T> {
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(int wheelSize) {
+        checkWheelSize(wheelSize);
+        // power of two so the bucket of a tick is a mask away
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.buckets = (Timeout<T>[]) new Timeout[size];
+        this.mask = size - 1;
+    }
+
+    static void checkWheelSize(int wheelSize) {
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+        }
+    }
+
+    /**
+     * Schedules item to fall due delayTicks ticks from now; a delay of zero falls due
+     * on the next tick.
+     */
+    synchronized Timeout<T> schedule(T item, long delayTicks) {
+        if (delayTicks < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+        Timeout<T> timeout = new Timeout<>(item, tick + Math.max(1, delayTicks));
+        int index = (int) (timeout.deadline & mask);
+        timeout.bucket = index;
+        timeout.next = buckets[index];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        buckets[index] = timeout;
+        return timeout;
+    }
+
+    /**
+     * Removes a timeout that has not fallen due yet. Returns false if it already
+     * has, or was cancelled before.
+     */
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket < 0) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Moves the hand forward and returns the items that fell due, in tick order
+     */
+    synchronized List<T> advance(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks cannot be negative");
+        }
+        List<T> due = new ArrayList<>();
+        for (int i = 0; i < ticks; i++) {
+            tick++;
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadline <= tick) {
+                    unlink(timeout);
+                    due.add(timeout.item);
+                }
+                timeout = next;
+            }
+        }
+        return due;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    /**
+     * Handle to one scheduled item; node of its bucket's doubly linked list
+     */
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadline;
+        // -1 once fallen due or cancelled
+        private int bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
\ No newline at end of file
@@ -3,13 +3,28 @@ package service;
 import model.Payment;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PaymentProcessor {
-    private List<Payment> payments;
-    private int paymentCounter = 5000;
+    // payment ID -> payment
+    private final Map<String, Payment> paymentsById;
+    // reservation ID -> payments made against it, in processing order
+    private final Map<String, Queue<Payment>> paymentsByReservation;
+    private final AtomicInteger paymentCounter = new AtomicInteger(5000);
+    // Running aggregates, updated on every status transition of a processed payment
+    private final LongAdder successfulPayments = new LongAdder();
+    private final LongAdder failedPayments = new LongAdder();
+    private final LongAdder revenueMinorUnits = new LongAdder();
+    private final Payment.StatusListener statisticsUpdater = this::onStatusChange;
 
     public PaymentProcessor() {
-        this.payments = new ArrayList<>();
+        this.paymentsById = new ConcurrentHashMap<>();
+        this.paymentsByReservation = new ConcurrentHashMap<>();
     }
 
     public Payment processPayment(String reservationId, double amount,
@@ -21,10 +36,13 @@ public class PaymentProcessor {
             throw new IllegalArgumentException("Amount must be positive");
         }
 
-        String paymentId = "PAY" + (++paymentCounter);
+        String paymentId = "PAY" + paymentCounter.incrementAndGet();
         Payment payment = new Payment(paymentId, reservationId, amount, cardNumber, cvv, expiryDate);
+        payment.setStatusListener(statisticsUpdater);
         payment.processPayment();
-        payments.add(payment);
+        paymentsById.put(paymentId, payment);
+        paymentsByReservation.computeIfAbsent(reservationId, k -> new ConcurrentLinkedQueue<>())
+                .add(payment);
         return payment;
     }
 
@@ -37,11 +55,14 @@ public class PaymentProcessor {
         if (payment == null) {
             return false;
         }
-        if (!"SUCCESS".equals(payment.getStatus())) {
-            throw new IllegalStateException("Cannot refund unsuccessful payment");
-        }
+        // Two concurrent refunds of the same payment must not both pass the status check
+        synchronized (payment) {
+            if (!"SUCCESS".equals(payment.getStatus())) {
+                throw new IllegalStateException("Cannot refund unsuccessful payment");
+            }
 
-        payment.refund();
+            payment.refund();
+        }
         return true;
     }
 
@@ -50,10 +71,7 @@ public class PaymentProcessor {
             throw new IllegalArgumentException("Payment ID cannot be empty");
         }
 
-        return payments.stream()
-                .filter(p -> p.getPaymentId().equals(paymentId))
-                .findFirst()
-                .orElse(null);
+        return paymentsById.get(paymentId);
     }
 
     public List<Payment> getPaymentsByReservation(String reservationId) {
@@ -61,35 +79,39 @@ public class PaymentProcessor {
             throw new IllegalArgumentException("Reservation ID cannot be empty");
         }
 
-        List<Payment> result = new ArrayList<>();
-        for (Payment payment : payments) {
-            if (payment.getReservationId().equals(reservationId)) {
-                result.add(payment);
-            }
-        }
-        return result;
+        Queue<Payment> payments = paymentsByReservation.get(reservationId);
+        return payments != null ? new ArrayList<>(payments) : new ArrayList<>();
     }
 
     public int getTotalPayments() {
-        return payments.size();
+        return paymentsById.size();
     }
 
     public double getTotalRevenue() {
-        return payments.stream()
-                .filter(p -> "SUCCESS".equals(p.getStatus()))
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return revenueMinorUnits.sum() / 100.0;
     }
 
     public int getSuccessfulPayments() {
-        return (int) payments.stream()
-                .filter(p -> "SUCCESS".equals(p.getStatus()))
-                .count();
+        return (int) successfulPayments.sum();
     }
 
     public int getFailedPayments() {
-        return (int) payments.stream()
-                .filter(p -> "FAILED".equals(p.getStatus()))
-                .count();
+        return (int) failedPayments.sum();
+    }
+
+    private void onStatusChange(Payment payment, String oldStatus, String newStatus) {
+        if ("SUCCESS".equals(oldStatus)) {
+            successfulPayments.decrement();
+            revenueMinorUnits.add(-payment.getAmountMinorUnits());
+        } else if ("FAILED".equals(oldStatus)) {
+            failedPayments.decrement();
+        }
+
+        if ("SUCCESS".equals(newStatus)) {
+            successfulPayments.increment();
+            revenueMinorUnits.add(payment.getAmountMinorUnits());
+        } else if ("FAILED".equals(newStatus)) {
+            failedPayments.increment();
+        }
     }
 }
\ No newline at end of file
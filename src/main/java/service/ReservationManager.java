@@ -1,30 +1,130 @@
 package service;
 
+import model.FareBuckets;
 import model.Flight;
+import model.NameDictionary;
 import model.Passenger;
 import model.Reservation;
+import model.SeatMap;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class ReservationManager {
-    private List<Reservation> reservations;
-    private int reservationCounter = 1000;
+    private static final Logger LOG = Logger.getLogger(ReservationManager.class.getName());
+    // Power of two so a stripe can be picked with a mask
+    private static final int LOCK_STRIPES = 256;
+    public static final int DEFAULT_HOLD_WHEEL_SIZE = 512;
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "CANCELLED"};
+    // Reservation IDs are "RES" + an increasing counter, so shorter IDs are older
+    private static final Comparator<Reservation> CREATION_ORDER =
+            Comparator.comparingInt((Reservation r) -> r.getReservationId().length())
+                    .thenComparing(Reservation::getReservationId);
+
+    // reservation ID -> reservation
+    private final Map<String, Reservation> reservationsById;
+    // case-folded passenger email -> reservations holding a passenger with that email
+    private final Map<String, Set<Reservation>> reservationsByEmail;
+    private final AtomicInteger reservationCounter = new AtomicInteger(1000);
+    // status -> number of reservations currently in it, updated on every transition
+    private final Map<String, LongAdder> statusCounts;
+    // State transitions of a reservation are serialized per flight; reservations
+    // on flights hashing to different stripes never contend.
+    private final Object[] flightLocks;
+    // reservation ID -> seats held for it while PENDING; empty unless holds are enabled
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    // one timing wheel per flight lock stripe, created on first use, so holds on
+    // flights of different stripes never contend on a wheel either
+    private volatile AtomicReferenceArray<HashedTimingWheel<SeatHold>> holdWheels;
+    private int holdWheelSize;
+    private volatile long holdTicks;
+    private Duration holdTickDuration;
+    private ScheduledExecutorService holdTimer;
+    // flight -> its confirmed reservations in creation order; changed under the flight lock
+    private final Map<Flight, Set<Reservation>> confirmedByFlight = new ConcurrentHashMap<>();
+    // flight -> reservations waiting for seats on it
+    private final Map<Flight, Waitlist> waitlists = new ConcurrentHashMap<>();
+    // reservation ID -> its place on its flight's waitlist
+    private final Map<String, WaitlistEntry> waitlistEntries = new ConcurrentHashMap<>();
+    private final AtomicLong waitlistSequence = new AtomicLong();
+    private final LongAdder waitlistPromotions = new LongAdder();
+    private final Flight.SeatListener waitlistTrigger = this::onSeatsChanged;
+    private final ThreadPoolExecutor promotionExecutor;
+    private final LongAdder deniedBoardings = new LongAdder();
 
     public ReservationManager() {
-        this.reservations = new ArrayList<>();
+        this.reservationsById = new ConcurrentHashMap<>();
+        this.reservationsByEmail = new ConcurrentHashMap<>();
+        this.statusCounts = new ConcurrentHashMap<>();
+        for (String status : STATUSES) {
+            statusCounts.put(status, new LongAdder());
+        }
+        this.flightLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            flightLocks[i] = new Object();
+        }
+        int promoters = Runtime.getRuntime().availableProcessors();
+        this.promotionExecutor = new ThreadPoolExecutor(promoters, promoters, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("waitlist-promoter"));
+        promotionExecutor.allowCoreThreadTimeOut(true);
     }
 
     public Reservation createReservation(Flight flight) {
+        return createReservation(flight, null);
+    }
+
+    /**
+     * Reservation whose seats are sold in the given fare bucket of the flight. Without a
+     * fare class it sells in the flight's top bucket, or at the plain price if the flight
+     * has no buckets.
+     */
+    public Reservation createReservation(Flight flight, String fareClass) {
         if (flight == null) {
             throw new IllegalArgumentException("Flight cannot be null");
         }
-        if (flight.getAvailableSeats() <= 0) {
-            throw new IllegalStateException("No available seats on this flight");
+        FareBuckets buckets = flight.getFareBuckets();
+        if (fareClass == null && buckets != null) {
+            fareClass = buckets.getTopFareClass();
+        }
+        int available = fareClass == null ? flight.getAvailableSeats() : flight.getAvailableSeats(fareClass);
+        if (available <= 0) {
+            throw new IllegalStateException(fareClass == null
+                    ? "No available seats on this flight" : "No available seats in fare class " + fareClass);
         }
 
-        String reservationId = "RES" + (++reservationCounter);
-        Reservation reservation = new Reservation(reservationId, flight);
-        reservations.add(reservation);
+        String reservationId = "RES" + reservationCounter.incrementAndGet();
+        Reservation reservation = new Reservation(reservationId, flight, fareClass);
+        HashedTimingWheel<SeatHold> wheel = holdWheelFor(flight);
+        if (wheel != null) {
+            SeatHold hold = new SeatHold(reservation);
+            holds.put(reservationId, hold);
+            hold.timeout = wheel.schedule(hold, holdTicks);
+        }
+        reservationsById.put(reservationId, reservation);
+        statusCounts.get(reservation.getStatus()).increment();
         return reservation;
     }
 
@@ -35,11 +135,24 @@ public class ReservationManager {
         if (passenger == null) {
             throw new IllegalArgumentException("Passenger cannot be null");
         }
-        if (reservation.isConfirmed()) {
-            throw new IllegalStateException("Cannot modify confirmed reservation");
-        }
 
-        reservation.addPassenger(passenger);
+        synchronized (lockFor(reservation.getFlight())) {
+            if (reservation.isConfirmed()) {
+                throw new IllegalStateException("Cannot modify confirmed reservation");
+            }
+            SeatHold hold = holds.get(reservation.getReservationId());
+            if (hold == null && expired(reservation)) {
+                throw new IllegalStateException("Seat hold has expired");
+            }
+            if (hold != null) {
+                if (!book(reservation, 1)) {
+                    throw new IllegalStateException("No available seats on this flight");
+                }
+                hold.seats++;
+            }
+            reservation.addPassenger(passenger);
+            indexPassenger(reservation, passenger);
+        }
     }
 
     public void removePassengerFromReservation(Reservation reservation, Passenger passenger) {
@@ -49,29 +162,101 @@ public class ReservationManager {
         if (passenger == null) {
             throw new IllegalArgumentException("Passenger cannot be null");
         }
-        if (reservation.isConfirmed()) {
-            throw new IllegalStateException("Cannot modify confirmed reservation");
-        }
 
-        reservation.removePassenger(passenger);
+        synchronized (lockFor(reservation.getFlight())) {
+            if (reservation.isConfirmed()) {
+                throw new IllegalStateException("Cannot modify confirmed reservation");
+            }
+            SeatHold hold = holds.get(reservation.getReservationId());
+            if (hold != null && reservation.getPassengers().contains(passenger)) {
+                unbook(reservation, 1);
+                hold.seats--;
+            }
+            reservation.removePassenger(passenger);
+            unindexPassenger(reservation, passenger);
+        }
     }
 
+    /**
+     * Books the reservation's seats, or takes over its seat hold, and confirms it. When the flight has a seat map,
+     * real seats are assigned to all passengers at once, side by side if any row allows. Unless the reservation
+     * holds its seats, the flight's waitlist is served first and only the seats it cannot use are left to book;
+     * a waitlisted reservation is confirmed in its turn only.
+     */
     public boolean confirmReservation(Reservation reservation, String paymentId) {
+        return confirmReservation(reservation, paymentId, null);
+    }
+
+    /**
+     * Confirms with the given seats, one per passenger in passenger order. Returns false
+     * if any of them is taken; requires a flight with a seat map.
+     */
+    public boolean confirmReservation(Reservation reservation, String paymentId, List<String> seats) {
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation cannot be null");
         }
         if (paymentId == null || paymentId.trim().isEmpty()) {
             throw new IllegalArgumentException("Payment ID cannot be empty");
         }
+
+        Flight flight = reservation.getFlight();
+        synchronized (lockFor(flight)) {
+            // held seats are the reservation's own and owe the waitlist nothing
+            Waitlist waitlist = waitlists.get(flight);
+            if (waitlist != null && !holds.containsKey(reservation.getReservationId())) {
+                promoteLocked(flight, waitlist);
+                if (waitlistEntries.containsKey(reservation.getReservationId()) || reservation.isConfirmed()) {
+                    return reservation.isConfirmed();
+                }
+            }
+            return confirmLocked(reservation, paymentId, seats);
+        }
+    }
+
+    // Callers hold the flight lock of the reservation
+    private boolean confirmLocked(Reservation reservation, String paymentId, List<String> seats) {
+        Flight flight = reservation.getFlight();
         if (reservation.getNumberOfPassengers() == 0) {
             throw new IllegalStateException("Cannot confirm reservation without passengers");
         }
+        SeatHold hold = holds.get(reservation.getReservationId());
+        if (hold == null && expired(reservation)) {
+            throw new IllegalStateException("Seat hold has expired");
+        }
 
-        Flight flight = reservation.getFlight();
         int numberOfPassengers = reservation.getNumberOfPassengers();
+        if (seats != null) {
+            if (flight.getSeatMap() == null) {
+                throw new IllegalStateException("Flight has no seat map");
+            }
+            if (seats.size() != numberOfPassengers) {
+                throw new IllegalArgumentException("Seat count must match passengers");
+            }
+        }
 
-        if (flight.bookSeats(numberOfPassengers)) {
+        // held seats are already taken from the flight's count
+        if (hold != null || book(reservation, numberOfPassengers)) {
+            boolean assigned = false;
+            try {
+                assigned = assignSeats(reservation, flight.getSeatMap(), seats);
+            } finally {
+                // also when a requested seat label is rejected
+                if (!assigned && hold == null) {
+                    unbook(reservation, numberOfPassengers);
+                }
+            }
+            if (!assigned) {
+                return false;
+            }
+            if (hold != null) {
+                holds.remove(reservation.getReservationId());
+                holdWheelFor(flight).cancel(hold.timeout);
+            }
+            String oldStatus = reservation.getStatus();
             reservation.confirm(paymentId);
+            recordTransition(oldStatus, reservation.getStatus());
+            confirmedByFlight.computeIfAbsent(flight, f -> new ConcurrentSkipListSet<>(CREATION_ORDER))
+                    .add(reservation);
             return true;
         }
         return false;
@@ -86,12 +271,480 @@ public class ReservationManager {
         if (reservation == null) {
             return false;
         }
-        if (!reservation.isConfirmed()) {
-            throw new IllegalStateException("Only confirmed reservations can be cancelled");
+
+        synchronized (lockFor(reservation.getFlight())) {
+            if (!reservation.isConfirmed()) {
+                throw new IllegalStateException("Only confirmed reservations can be cancelled");
+            }
+
+            unbook(reservation, reservation.getNumberOfPassengers());
+            SeatMap seatMap = reservation.getFlight().getSeatMap();
+            if (seatMap != null && !reservation.getSeatAssignments().isEmpty()) {
+                seatMap.release(new ArrayList<>(reservation.getSeatAssignments().values()));
+            }
+            reservation.clearSeatAssignments();
+            reservation.cancel();
+            recordTransition("CONFIRMED", reservation.getStatus());
+            unindexConfirmed(reservation);
+        }
+        return true;
+    }
+
+    // Callers hold the flight lock of the reservation
+    private void unindexConfirmed(Reservation reservation) {
+        Flight flight = reservation.getFlight();
+        Set<Reservation> confirmed = confirmedByFlight.get(flight);
+        if (confirmed != null) {
+            confirmed.remove(reservation);
+            if (confirmed.isEmpty()) {
+                confirmedByFlight.remove(flight);
+            }
+        }
+    }
+
+    // ==================== SEAT HOLDS ====================
+
+    /**
+     * From now on, reservations hold their passengers' seats while PENDING. A hold that
+     * is not confirmed within holdTtl releases its seats and cancels the reservation.
+     * Expiry runs on a timing wheel moved by {@link #advanceHoldClock(int)}, or by the
+     * timer started with {@link #startHoldTimer()}. Reservations created before are not held.
+     */
+    public void enableSeatHolds(Duration holdTtl, Duration tickDuration) {
+        enableSeatHolds(holdTtl, tickDuration, DEFAULT_HOLD_WHEEL_SIZE);
+    }
+
+    public synchronized void enableSeatHolds(Duration holdTtl, Duration tickDuration, int wheelSize) {
+        if (holdTtl == null || holdTtl.isNegative() || holdTtl.isZero()) {
+            throw new IllegalArgumentException("Hold TTL must be positive");
+        }
+        if (tickDuration == null || tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (holdWheels != null) {
+            throw new IllegalStateException("Seat holds are already enabled");
+        }
+        // round up so a hold never expires before its TTL
+        long ticks = holdTtl.toNanos() / tickDuration.toNanos();
+        if (ticks * tickDuration.toNanos() < holdTtl.toNanos()) {
+            ticks++;
+        }
+        this.holdTicks = ticks;
+        this.holdTickDuration = tickDuration;
+        HashedTimingWheel.checkWheelSize(wheelSize);
+        this.holdWheelSize = wheelSize;
+        this.holdWheels = new AtomicReferenceArray<>(LOCK_STRIPES);
+    }
+
+    /**
+     * Moves the hold clock forward by the given number of ticks and releases the holds
+     * that expired. Returns the number of reservations cancelled. If releasing a hold
+     * fails, the other expired holds are still released before the failure is rethrown.
+     */
+    public int advanceHoldClock(int ticks) {
+        AtomicReferenceArray<HashedTimingWheel<SeatHold>> wheels = holdWheels;
+        if (wheels == null) {
+            throw new IllegalStateException("Seat holds are not enabled");
+        }
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks cannot be negative");
+        }
+        int released = 0;
+        RuntimeException failure = null;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            HashedTimingWheel<SeatHold> wheel = wheels.get(i);
+            if (wheel == null) {
+                continue;
+            }
+            for (SeatHold hold : wheel.advance(ticks)) {
+                try {
+                    if (release(hold)) {
+                        released++;
+                    }
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return released;
+    }
+
+    /**
+     * Advances the hold clock one tick per tick duration on a background daemon thread
+     */
+    public synchronized void startHoldTimer() {
+        if (holdWheels == null) {
+            throw new IllegalStateException("Seat holds are not enabled");
+        }
+        if (holdTimer != null) {
+            return;
+        }
+        holdTimer = Executors.newSingleThreadScheduledExecutor(daemonThreads("seat-hold-timer"));
+        long period = holdTickDuration.toNanos();
+        holdTimer.scheduleAtFixedRate(this::tickHoldClock, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    // A periodic task that throws is never run again, so a failed tick is only logged
+    private void tickHoldClock() {
+        try {
+            advanceHoldClock(1);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Releasing expired seat holds failed", e);
+        }
+    }
+
+    public synchronized void stopHoldTimer() {
+        if (holdTimer != null) {
+            holdTimer.shutdown();
+            holdTimer = null;
+        }
+    }
+
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    public int getHeldSeats() {
+        int seats = 0;
+        for (SeatHold hold : holds.values()) {
+            seats += hold.seats;
+        }
+        return seats;
+    }
+
+    // Gives an expired hold's seats back; false if the reservation was confirmed first
+    private boolean release(SeatHold hold) {
+        Reservation reservation = hold.reservation;
+        Flight flight = reservation.getFlight();
+        synchronized (lockFor(flight)) {
+            if (holds.get(reservation.getReservationId()) != hold) {
+                return false;
+            }
+            if (hold.seats > 0) {
+                try {
+                    unbook(reservation, hold.seats);
+                } catch (RuntimeException e) {
+                    // the hold keeps its seats and is retried on the next tick
+                    hold.timeout = holdWheelFor(flight).schedule(hold, 1);
+                    throw e;
+                }
+            }
+            holds.remove(reservation.getReservationId());
+            dropFromWaitlist(reservation);
+            String oldStatus = reservation.getStatus();
+            reservation.cancel();
+            recordTransition(oldStatus, reservation.getStatus());
+            return true;
+        }
+    }
+
+    // Only expiry cancels a reservation that was never confirmed
+    private boolean expired(Reservation reservation) {
+        return holdWheels != null && "CANCELLED".equals(reservation.getStatus());
+    }
+
+    // Wheel of the flight's lock stripe, or null while holds are disabled
+    private HashedTimingWheel<SeatHold> holdWheelFor(Flight flight) {
+        AtomicReferenceArray<HashedTimingWheel<SeatHold>> wheels = holdWheels;
+        if (wheels == null) {
+            return null;
+        }
+        int stripe = stripeOf(flight);
+        HashedTimingWheel<SeatHold> wheel = wheels.get(stripe);
+        if (wheel == null) {
+            wheels.compareAndSet(stripe, null, new HashedTimingWheel<>(holdWheelSize));
+            wheel = wheels.get(stripe);
+        }
+        return wheel;
+    }
+
+    // ==================== WAITLIST ====================
+
+    /**
+     * Queues a pending reservation for seats on its flight. Whenever seats are given back,
+     * waitlisted reservations are confirmed in the background with the given payment ID:
+     * higher loyalty tiers first, in request order within a tier. A party that does not
+     * fit yet keeps its place while parties behind it that do fit take the free seats.
+     * Other reservations on the flight only get the seats the waitlist cannot use.
+     */
+    public void addToWaitlist(Reservation reservation, String paymentId, int loyaltyTier) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        if (paymentId == null || paymentId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Payment ID cannot be empty");
+        }
+        if (loyaltyTier < 0) {
+            throw new IllegalArgumentException("Loyalty tier cannot be negative");
+        }
+
+        Flight flight = reservation.getFlight();
+        Waitlist waitlist;
+        synchronized (lockFor(flight)) {
+            if (!"PENDING".equals(reservation.getStatus())) {
+                throw new IllegalStateException("Only pending reservations can be waitlisted");
+            }
+            if (reservation.getNumberOfPassengers() == 0) {
+                throw new IllegalStateException("Cannot waitlist reservation without passengers");
+            }
+            if (waitlistEntries.containsKey(reservation.getReservationId())) {
+                throw new IllegalStateException("Reservation is already waitlisted");
+            }
+            // registered under the flight lock, so it cannot be unregistered before the entry is queued
+            waitlist = waitlists.computeIfAbsent(flight, f -> {
+                f.addSeatListener(waitlistTrigger);
+                return new Waitlist();
+            });
+            WaitlistEntry entry = new WaitlistEntry(reservation, paymentId, loyaltyTier,
+                    waitlistSequence.getAndIncrement());
+            waitlistEntries.put(reservation.getReservationId(), entry);
+            waitlist.queue.add(entry);
+        }
+        // seats may have come free before the entry was queued
+        schedulePromotion(flight, waitlist);
+    }
+
+    public boolean removeFromWaitlist(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        synchronized (lockFor(reservation.getFlight())) {
+            return dropFromWaitlist(reservation);
+        }
+    }
+
+    // Callers hold the flight lock of the reservation
+    private boolean dropFromWaitlist(Reservation reservation) {
+        WaitlistEntry entry = waitlistEntries.remove(reservation.getReservationId());
+        if (entry == null) {
+            return false;
+        }
+        Waitlist waitlist = waitlists.get(reservation.getFlight());
+        waitlist.queue.remove(entry);
+        unregisterIfEmpty(reservation.getFlight(), waitlist);
+        return true;
+    }
+
+    // Callers hold the flight lock; an empty waitlist stops listening to the flight
+    private void unregisterIfEmpty(Flight flight, Waitlist waitlist) {
+        if (waitlist.queue.isEmpty() && waitlists.remove(flight, waitlist)) {
+            flight.removeSeatListener(waitlistTrigger);
+        }
+    }
+
+    public boolean isWaitlisted(Reservation reservation) {
+        return reservation != null && waitlistEntries.containsKey(reservation.getReservationId());
+    }
+
+    public int getWaitlistSize(Flight flight) {
+        Waitlist waitlist = flight != null ? waitlists.get(flight) : null;
+        return waitlist != null ? waitlist.queue.size() : 0;
+    }
+
+    public long getWaitlistPromotionCount() {
+        return waitlistPromotions.sum();
+    }
+
+    /**
+     * Confirms waitlisted reservations of the flight in priority order, skipping parties
+     * that do not fit. Parties holding their seats are always confirmed; the others only
+     * while the flight has seats left. Runs automatically when seats are given back and
+     * before other confirmations on the flight; the whole batch runs under one acquisition
+     * of the flight lock. Returns the number promoted.
+     */
+    public int promoteWaitlist(Flight flight) {
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight cannot be null");
+        }
+        Waitlist waitlist = waitlists.get(flight);
+        if (waitlist == null) {
+            return 0;
+        }
+
+        synchronized (lockFor(flight)) {
+            return promoteLocked(flight, waitlist);
+        }
+    }
+
+    // Callers hold the flight lock
+    private int promoteLocked(Flight flight, Waitlist waitlist) {
+        int promoted = 0;
+        // parties that did not fit, put back in place once the batch is done
+        List<WaitlistEntry> skipped = new ArrayList<>();
+        try {
+            WaitlistEntry entry;
+            while ((entry = waitlist.queue.poll()) != null) {
+                Reservation reservation = entry.reservation;
+                boolean held = holds.containsKey(reservation.getReservationId());
+                if (!held && flight.getAvailableSeats() <= 0) {
+                    skipped.add(entry);
+                    continue;
+                }
+                // emptied since it was queued
+                boolean waiting = "PENDING".equals(reservation.getStatus()) && reservation.getNumberOfPassengers() > 0;
+                if (waiting) {
+                    if (!confirmLocked(reservation, entry.paymentId, null)) {
+                        skipped.add(entry);
+                        continue;
+                    }
+                    promoted++;
+                }
+                waitlistEntries.remove(reservation.getReservationId(), entry);
+            }
+        } finally {
+            waitlist.queue.addAll(skipped);
+            unregisterIfEmpty(flight, waitlist);
+        }
+        waitlistPromotions.add(promoted);
+        return promoted;
+    }
+
+    private void onSeatsChanged(Flight flight, int previousAvailable, int currentAvailable) {
+        if (currentAvailable > previousAvailable) {
+            Waitlist waitlist = waitlists.get(flight);
+            if (waitlist != null && !waitlist.queue.isEmpty()) {
+                schedulePromotion(flight, waitlist);
+            }
+        }
+    }
+
+    // At most one promotion per flight is queued; seats freed while it runs queue the next one
+    private void schedulePromotion(Flight flight, Waitlist waitlist) {
+        if (waitlist.promotionScheduled.compareAndSet(false, true)) {
+            promotionExecutor.execute(() -> {
+                waitlist.promotionScheduled.set(false);
+                promoteWaitlist(flight);
+            });
+        }
+    }
+
+    // ==================== DENIED BOARDING ====================
+
+    /**
+     * Settles an overbooked flight; meant to be called by the departure process once
+     * check-in closes, nothing runs it on its own. The confirmed passengers listed in
+     * checkedInPassengerIds present themselves; if they outnumber the physical seats,
+     * the volunteers listed stand down first, in the order given, then passengers of
+     * the most recently made reservations. Denied passengers are removed from their
+     * reservations and their seats given back; a reservation left without passengers
+     * is cancelled. Returns the passengers denied boarding in that order; none when
+     * everyone who showed up has a seat, so repeating the call denies no one twice.
+     */
+    public List<Passenger> resolveDeniedBoarding(Flight flight, Collection<String> checkedInPassengerIds,
+                                                 List<String> volunteerPassengerIds) {
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight cannot be null");
+        }
+        if (checkedInPassengerIds == null) {
+            throw new IllegalArgumentException("Checked-in passengers cannot be null");
+        }
+        Set<String> checkedIn = new HashSet<>(checkedInPassengerIds);
+        List<String> volunteers = volunteerPassengerIds != null ? volunteerPassengerIds : new ArrayList<>();
+
+        synchronized (lockFor(flight)) {
+            Set<Reservation> confirmed = confirmedByFlight.getOrDefault(flight, Set.of());
+            // passenger ID -> passenger who showed up, in booking order
+            Map<String, Passenger> present = new LinkedHashMap<>();
+            Map<String, Reservation> reservationOf = new HashMap<>();
+            for (Reservation reservation : confirmed) {
+                for (Passenger passenger : reservation.getPassengers()) {
+                    if (checkedIn.contains(passenger.getPassengerId())) {
+                        present.put(passenger.getPassengerId(), passenger);
+                        reservationOf.put(passenger.getPassengerId(), reservation);
+                    }
+                }
+            }
+
+            int excess = present.size() - flight.getTotalSeats();
+            List<Passenger> denied = new ArrayList<>();
+            if (excess <= 0) {
+                return denied;
+            }
+            for (String passengerId : volunteers) {
+                if (denied.size() == excess) {
+                    break;
+                }
+                Passenger volunteer = present.remove(passengerId);
+                if (volunteer != null) {
+                    denied.add(volunteer);
+                }
+            }
+            List<Passenger> latestFirst = new ArrayList<>(present.values());
+            for (int i = latestFirst.size() - 1; i >= 0 && denied.size() < excess; i--) {
+                denied.add(latestFirst.get(i));
+            }
+            for (Passenger passenger : denied) {
+                denyBoarding(reservationOf.get(passenger.getPassengerId()), passenger);
+            }
+            deniedBoardings.add(denied.size());
+            return denied;
+        }
+    }
+
+    // Callers hold the flight lock of the reservation
+    private void denyBoarding(Reservation reservation, Passenger passenger) {
+        String seat = reservation.removeSeatAssignment(passenger.getPassengerId());
+        SeatMap seatMap = reservation.getFlight().getSeatMap();
+        if (seat != null && seatMap != null) {
+            seatMap.release(List.of(seat));
+        }
+        unbook(reservation, 1);
+        reservation.removePassenger(passenger);
+        unindexPassenger(reservation, passenger);
+        if (reservation.getNumberOfPassengers() == 0) {
+            reservation.cancel();
+            recordTransition("CONFIRMED", reservation.getStatus());
+            unindexConfirmed(reservation);
         }
+    }
+
+    public long getDeniedBoardingCount() {
+        return deniedBoardings.sum();
+    }
+
+    // Takes seats from the reservation's fare bucket, or the flight's plain pool
+    private static boolean book(Reservation reservation, int seats) {
+        String fareClass = reservation.getFareClass();
+        Flight flight = reservation.getFlight();
+        return fareClass == null ? flight.bookSeats(seats) : flight.bookSeats(seats, fareClass);
+    }
+
+    private static void unbook(Reservation reservation, int seats) {
+        String fareClass = reservation.getFareClass();
+        Flight flight = reservation.getFlight();
+        if (fareClass == null) {
+            flight.cancelSeats(seats);
+        } else {
+            flight.cancelSeats(seats, fareClass);
+        }
+    }
 
-        reservation.getFlight().cancelSeats(reservation.getNumberOfPassengers());
-        reservation.cancel();
+    // Claims seats on the seat map, if any; requested seats or else adjacent, falling back to any free
+    private boolean assignSeats(Reservation reservation, SeatMap seatMap, List<String> requested) {
+        if (seatMap == null) {
+            return true;
+        }
+        int count = reservation.getNumberOfPassengers();
+        List<String> seats;
+        if (requested != null) {
+            seats = seatMap.allocate(requested) ? requested : null;
+        } else {
+            seats = seatMap.allocateAdjacent(count);
+            if (seats.isEmpty()) {
+                seats = seatMap.allocateAny(count, null);
+            }
+        }
+        if (seats == null || seats.isEmpty()) {
+            return false;
+        }
+        reservation.assignSeats(seats);
         return true;
     }
 
@@ -100,10 +753,7 @@ public class ReservationManager {
             throw new IllegalArgumentException("Reservation ID cannot be empty");
         }
 
-        return reservations.stream()
-                .filter(r -> r.getReservationId().equals(reservationId))
-                .findFirst()
-                .orElse(null);
+        return reservationsById.get(reservationId);
     }
 
     public List<Reservation> getReservationsByPassenger(String passengerEmail) {
@@ -111,25 +761,124 @@ public class ReservationManager {
             throw new IllegalArgumentException("Passenger email cannot be empty");
         }
 
-        List<Reservation> result = new ArrayList<>();
-        for (Reservation reservation : reservations) {
-            for (Passenger passenger : reservation.getPassengers()) {
-                if (passenger.getEmail().equalsIgnoreCase(passengerEmail)) {
-                    result.add(reservation);
-                    break;
-                }
-            }
-        }
-        return result;
+        Set<Reservation> matches = reservationsByEmail.get(emailKey(passengerEmail));
+        return matches != null ? new ArrayList<>(matches) : new ArrayList<>();
     }
 
     public int getTotalReservations() {
-        return reservations.size();
+        return reservationsById.size();
     }
 
     public int getConfirmedReservations() {
-        return (int) reservations.stream()
-                .filter(Reservation::isConfirmed)
-                .count();
+        return (int) statusCounts.get("CONFIRMED").sum();
+    }
+
+    /**
+     * Number of reservations per status (PENDING, CONFIRMED, CANCELLED), in that order
+     */
+    public Map<String, Integer> getStatusHistogram() {
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        for (String status : STATUSES) {
+            histogram.put(status, (int) statusCounts.get(status).sum());
+        }
+        return histogram;
+    }
+
+    // Callers hold the flight lock of the reservation
+    private void recordTransition(String oldStatus, String newStatus) {
+        if (!oldStatus.equals(newStatus)) {
+            statusCounts.get(oldStatus).decrement();
+            statusCounts.get(newStatus).increment();
+        }
+    }
+
+    // Callers hold the flight lock of the reservation
+    private void indexPassenger(Reservation reservation, Passenger passenger) {
+        if (passenger.getEmail() == null) {
+            return;
+        }
+        // add inside compute so it cannot race with unindexPassenger dropping an empty set
+        reservationsByEmail.compute(emailKey(passenger.getEmail()), (k, matches) -> {
+            Set<Reservation> result = matches != null ? matches : new ConcurrentSkipListSet<>(CREATION_ORDER);
+            result.add(reservation);
+            return result;
+        });
+    }
+
+    // Callers hold the flight lock of the reservation
+    private void unindexPassenger(Reservation reservation, Passenger passenger) {
+        if (passenger.getEmail() == null) {
+            return;
+        }
+        String key = emailKey(passenger.getEmail());
+        for (Passenger remaining : reservation.getPassengers()) {
+            if (remaining.getEmail() != null && emailKey(remaining.getEmail()).equals(key)) {
+                return;
+            }
+        }
+        reservationsByEmail.computeIfPresent(key, (k, matches) -> {
+            matches.remove(reservation);
+            return matches.isEmpty() ? null : matches;
+        });
+    }
+
+    private static String emailKey(String email) {
+        return NameDictionary.fold(email);
+    }
+
+    /**
+     * Seats held for one PENDING reservation; guarded by the reservation's flight lock
+     */
+    private static final class SeatHold {
+        private final Reservation reservation;
+        private int seats;
+        private volatile HashedTimingWheel.Timeout<SeatHold> timeout;
+
+        private SeatHold(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+
+    /**
+     * Waitlisted reservations of one flight; queue changes are made under the flight lock
+     */
+    private static final class Waitlist {
+        private final PriorityBlockingQueue<WaitlistEntry> queue = new PriorityBlockingQueue<>(11,
+                Comparator.comparingInt((WaitlistEntry e) -> -e.loyaltyTier)
+                        .thenComparingLong(e -> e.sequence));
+        private final AtomicBoolean promotionScheduled = new AtomicBoolean();
+    }
+
+    private static final class WaitlistEntry {
+        private final Reservation reservation;
+        private final String paymentId;
+        private final int loyaltyTier;
+        // request order
+        private final long sequence;
+
+        private WaitlistEntry(Reservation reservation, String paymentId, int loyaltyTier, long sequence) {
+            this.reservation = reservation;
+            this.paymentId = paymentId;
+            this.loyaltyTier = loyaltyTier;
+            this.sequence = sequence;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private Object lockFor(Flight flight) {
+        return flightLocks[stripeOf(flight)];
+    }
+
+    private static int stripeOf(Flight flight) {
+        int h = flight.hashCode();
+        h ^= (h >>> 16);
+        return h & (LOCK_STRIPES - 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package service;
+
+import model.FareCalendarDay;
+import model.Flight;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flights of one route departing on one date, kept both in insertion order
+ * and sorted by price per seat so price queries are sub-range scans.
+ * <p>
+ * Bitmaps over insertion positions bucket the flights by airline, departure hour
+ * and whole hours of duration. A route-day is small, so plain BitSets stay dense;
+ * the route index acts as the outer level a compressed bitmap would otherwise need.
+ * <p>
+ * Flights are also kept ordered by departure instant, with departure and arrival as
+ * epoch seconds in parallel arrays. Walking a route's days in date order therefore
+ * visits its flights in departure order, so time windows are range scans.
+ */
+class RouteDayFlights {
+    // flights of this many hours or longer share the last duration bucket
+    private static final int MAX_DURATION_HOURS = 24;
+
+    private final List<Flight> flights = new ArrayList<>();
+    // ascending price; flights with equal prices keep their insertion order
+    private final List<Flight> byPrice = new ArrayList<>();
+    // insertion position of each byPrice entry
+    private final List<Integer> byPricePositions = new ArrayList<>();
+    // airline code -> positions in flights
+    private final Map<Integer, BitSet> positionsByAirline = new HashMap<>();
+    private final BitSet[] positionsByDepartureHour = new BitSet[24];
+    private final BitSet[] positionsByDurationHours = new BitSet[MAX_DURATION_HOURS + 1];
+    // ascending (departure, flight ID), the order search cursors resume in
+    private final List<Flight> byDeparture = new ArrayList<>();
+    private long[] departureSeconds = new long[4];
+    private long[] arrivalSeconds = new long[4];
+    private long shortestDurationSeconds = Long.MAX_VALUE;
+    // bumped on every seat change of one of the flights, without locking
+    private final AtomicLong version = new AtomicLong();
+    // seat thresholds that cached search results of this route-day depend on
+    private final Set<Integer> cachedSeatThresholds = ConcurrentHashMap.newKeySet();
+
+    void add(Flight flight) {
+        int position = flights.size();
+        positionsByAirline.computeIfAbsent(flight.getAirlineCode(), a -> new BitSet()).set(position);
+        bucket(positionsByDepartureHour, flight.getDepartureTime().getHour()).set(position);
+        bucket(positionsByDurationHours, durationBucket(flight.getFlightDuration())).set(position);
+        flights.add(flight);
+        int priceIndex = upperBound(flight.getPricePerSeat());
+        byPrice.add(priceIndex, flight);
+        byPricePositions.add(priceIndex, position);
+        addByDeparture(flight);
+    }
+
+    private void addByDeparture(Flight flight) {
+        long departure = flight.getDepartureTime().toEpochSecond(ZoneOffset.UTC);
+        long arrival = flight.getArrivalTime().toEpochSecond(ZoneOffset.UTC);
+        int size = byDeparture.size();
+        if (size == departureSeconds.length) {
+            departureSeconds = Arrays.copyOf(departureSeconds, size * 2);
+            arrivalSeconds = Arrays.copyOf(arrivalSeconds, size * 2);
+        }
+        int index = positionAfter(departure, flight.getFlightId());
+        System.arraycopy(departureSeconds, index, departureSeconds, index + 1, size - index);
+        System.arraycopy(arrivalSeconds, index, arrivalSeconds, index + 1, size - index);
+        departureSeconds[index] = departure;
+        arrivalSeconds[index] = arrival;
+        byDeparture.add(index, flight);
+        shortestDurationSeconds = Math.min(shortestDurationSeconds, arrival - departure);
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    void bumpVersion() {
+        version.incrementAndGet();
+    }
+
+    void addCachedSeatThreshold(int threshold) {
+        cachedSeatThresholds.add(threshold);
+    }
+
+    void clearCachedSeatThresholds() {
+        cachedSeatThresholds.clear();
+    }
+
+    // Whether a change between the two availability levels affects a cached result
+    boolean crossesCachedSeatThreshold(int previousAvailable, int currentAvailable) {
+        for (int threshold : cachedSeatThresholds) {
+            if ((previousAvailable >= threshold) != (currentAvailable >= threshold)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<Flight> flights() {
+        return flights;
+    }
+
+    List<Flight> flightsByPrice() {
+        return Collections.unmodifiableList(byPrice);
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    Flight departureAt(int position) {
+        return byDeparture.get(position);
+    }
+
+    long departureSecondAt(int position) {
+        return departureSeconds[position];
+    }
+
+    // First position in departure order leaving at or after the epoch second
+    int firstPositionFrom(long epochSecond) {
+        return firstDepartureAfter(epochSecond - 1);
+    }
+
+    // First position in departure order strictly after (epochSecond, flightId)
+    int positionAfter(long epochSecond, String flightId) {
+        int position = firstPositionFrom(epochSecond);
+        while (position < byDeparture.size() && departureSeconds[position] == epochSecond
+                && byDeparture.get(position).getFlightId().compareTo(flightId) <= 0) {
+            position++;
+        }
+        return position;
+    }
+
+    // Flights of the airline with seats left, in insertion order
+    List<Flight> availableForAirline(int airlineCode) {
+        List<Flight> result = new ArrayList<>();
+        BitSet positions = positionsByAirline.get(airlineCode);
+        if (positions == null) {
+            return result;
+        }
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            Flight flight = flights.get(i);
+            if (flight.getAvailableSeats() > 0) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    // Flights with seats left priced within [minPrice, maxPrice], cheapest first
+    List<Flight> availableInPriceRange(double minPrice, double maxPrice) {
+        List<Flight> result = new ArrayList<>();
+        for (int i = lowerBound(minPrice); i < byPrice.size(); i++) {
+            Flight flight = byPrice.get(i);
+            if (flight.getPricePerSeat() > maxPrice) {
+                break;
+            }
+            if (flight.getAvailableSeats() > 0) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Flights matching the query in insertion order. The bitmaps of each requested
+     * predicate are intersected first; only the surviving flights are read, for the
+     * bucket edges and the live seat count. airlineCodes is null when any airline matches.
+     */
+    List<Flight> select(FlightQuery query, int[] airlineCodes) {
+        BitSet candidates = new BitSet(flights.size());
+        candidates.set(0, flights.size());
+        if (airlineCodes != null) {
+            BitSet airlines = new BitSet();
+            for (int code : airlineCodes) {
+                BitSet positions = positionsByAirline.get(code);
+                if (positions != null) {
+                    airlines.or(positions);
+                }
+            }
+            candidates.and(airlines);
+        }
+        if (query.hasPriceBand() && !candidates.isEmpty()) {
+            BitSet priced = new BitSet();
+            int end = upperBound(query.getMaxPrice());
+            for (int i = lowerBound(query.getMinPrice()); i < end; i++) {
+                priced.set(byPricePositions.get(i));
+            }
+            candidates.and(priced);
+        }
+        if (query.hasDepartureWindow() && !candidates.isEmpty()) {
+            int first = query.getDepartureFrom().getHour();
+            int last = query.getDepartureTo().getHour();
+            BitSet departing = new BitSet();
+            if (query.getDepartureFrom().isAfter(query.getDepartureTo())) {
+                union(departing, positionsByDepartureHour, first, 23);
+                union(departing, positionsByDepartureHour, 0, last);
+            } else {
+                union(departing, positionsByDepartureHour, first, last);
+            }
+            candidates.and(departing);
+        }
+        if (query.getMaxDuration() != null && !candidates.isEmpty()) {
+            BitSet shortEnough = new BitSet();
+            union(shortEnough, positionsByDurationHours, 0, durationBucket(query.getMaxDuration().toMinutes()));
+            candidates.and(shortEnough);
+        }
+
+        List<Flight> result = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Flight flight = flights.get(i);
+            if (query.matchesVolatile(flight)) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds to result the flights with seats left departing within [earliestDeparture,
+     * latestDeparture], arriving by latestArrival and taking at most maxDurationSeconds,
+     * in departure order. All bounds are epoch seconds.
+     */
+    void departingBetween(long earliestDeparture, long latestDeparture, long latestArrival,
+                          long maxDurationSeconds, List<Flight> result) {
+        if (shortestDurationSeconds > maxDurationSeconds) {
+            return;
+        }
+        // nothing leaving later than this can land by latestArrival
+        long lastDeparture = Math.min(latestDeparture, latestArrival - Math.max(0, shortestDurationSeconds));
+        for (int i = firstPositionFrom(earliestDeparture); i < byDeparture.size(); i++) {
+            if (departureSeconds[i] > lastDeparture) {
+                break;
+            }
+            if (arrivalSeconds[i] <= latestArrival
+                    && arrivalSeconds[i] - departureSeconds[i] <= maxDurationSeconds
+                    && byDeparture.get(i).getAvailableSeats() > 0) {
+                result.add(byDeparture.get(i));
+            }
+        }
+    }
+
+    // Up to k flights with seats left, cheapest first
+    List<Flight> cheapestAvailable(int k) {
+        List<Flight> result = new ArrayList<>(Math.min(k, byPrice.size()));
+        for (int i = 0; i < byPrice.size() && result.size() < k; i++) {
+            Flight flight = byPrice.get(i);
+            if (flight.getAvailableSeats() > 0) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    // Cheapest available fare and number of flights with seats left
+    FareCalendarDay summarize(LocalDate date) {
+        double lowestPrice = Double.NaN;
+        int available = 0;
+        for (Flight flight : byPrice) {
+            if (flight.getAvailableSeats() > 0) {
+                if (available == 0) {
+                    lowestPrice = flight.getPricePerSeat();
+                }
+                available++;
+            }
+        }
+        return new FareCalendarDay(date, lowestPrice, available);
+    }
+
+    private static BitSet bucket(BitSet[] buckets, int index) {
+        if (buckets[index] == null) {
+            buckets[index] = new BitSet();
+        }
+        return buckets[index];
+    }
+
+    private static void union(BitSet target, BitSet[] buckets, int first, int last) {
+        for (int i = first; i <= last; i++) {
+            if (buckets[i] != null) {
+                target.or(buckets[i]);
+            }
+        }
+    }
+
+    private static int durationBucket(double minutes) {
+        return (int) Math.max(0, Math.min(MAX_DURATION_HOURS, minutes / 60));
+    }
+
+    // First position in byDeparture departing strictly after the given epoch second
+    private int firstDepartureAfter(long epochSecond) {
+        int low = 0;
+        int high = byDeparture.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departureSeconds[mid] <= epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose price is >= price
+    private int lowerBound(double price) {
+        int low = 0;
+        int high = byPrice.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPrice.get(mid).getPricePerSeat() < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose price is > price
+    private int upperBound(double price) {
+        int low = 0;
+        int high = byPrice.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPrice.get(mid).getPricePerSeat() <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package service;
+
+import model.Flight;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of search results, grouped by route-day for precise invalidation.
+ * <p>
+ * Every entry records the seat threshold its filter depends on (1 for "has seats left",
+ * N for "at least N seats"). Seat changes never take the cache monitor on their own:
+ * they bump the route-day's version and only call {@link #onSeatsChanged} when they
+ * cross a threshold some cached result of the route-day depends on. A result computed
+ * while its route-day's version moved is not stored. Versions live on the route-day
+ * itself, so the cache keeps no state for route-days it holds no entries for.
+ */
+class SearchResultCache {
+    private final int capacity;
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries;
+    // route-day -> key -> seat threshold of its entry; read instead of entries, since a
+    // lookup in the access-ordered map would count as a use and reorder it
+    private final Map<RouteDayFlights, Map<String, Integer>> keysByRouteDay;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    SearchResultCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.keysByRouteDay = new HashMap<>();
+    }
+
+    synchronized List<Flight> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.flights;
+    }
+
+    // Stores the result unless the route-day's seats changed after version was read
+    synchronized void put(String key, RouteDayFlights routeDay, int seatThreshold, List<Flight> flights, long version) {
+        // published before the version check, so a seat change that the check misses sees it
+        routeDay.addCachedSeatThreshold(seatThreshold);
+        if (routeDay.version() != version) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(routeDay, Collections.unmodifiableList(flights)));
+        if (previous == null) {
+            keysByRouteDay.computeIfAbsent(routeDay, k -> new HashMap<>()).put(key, seatThreshold);
+        }
+        if (entries.size() > capacity) {
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue().routeDay);
+            evictions++;
+        }
+    }
+
+    synchronized void invalidateRouteDay(RouteDayFlights routeDay) {
+        routeDay.bumpVersion();
+        Map<String, Integer> keys = keysByRouteDay.remove(routeDay);
+        if (keys != null) {
+            for (String key : keys.keySet()) {
+                entries.remove(key);
+            }
+        }
+        routeDay.clearCachedSeatThresholds();
+    }
+
+    // Drops the route-day's entries whose threshold the change crossed
+    synchronized void onSeatsChanged(RouteDayFlights routeDay, int previousAvailable, int currentAvailable) {
+        Map<String, Integer> keys = keysByRouteDay.get(routeDay);
+        if (keys == null) {
+            return;
+        }
+        for (Iterator<Map.Entry<String, Integer>> it = keys.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Integer> key = it.next();
+            int threshold = key.getValue();
+            if ((previousAvailable >= threshold) != (currentAvailable >= threshold)) {
+                entries.remove(key.getKey());
+                it.remove();
+            }
+        }
+        if (keys.isEmpty()) {
+            keysByRouteDay.remove(routeDay);
+            routeDay.clearCachedSeatThresholds();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHitCount() {
+        return hits;
+    }
+
+    synchronized long getMissCount() {
+        return misses;
+    }
+
+    synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private void unlink(String key, RouteDayFlights routeDay) {
+        Map<String, Integer> keys = keysByRouteDay.get(routeDay);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByRouteDay.remove(routeDay);
+                routeDay.clearCachedSeatThresholds();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final RouteDayFlights routeDay;
+        private final List<Flight> flights;
+
+        private Entry(RouteDayFlights routeDay, List<Flight> flights) {
+            this.routeDay = routeDay;
+            this.flights = flights;
+        }
+    }
+}
\ No newline at end of file
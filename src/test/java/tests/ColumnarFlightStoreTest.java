@@ -0,0 +1,201 @@
+package tests;
+
+import model.Flight;
+import service.ColumnarFlightStore;
+import service.FlightSearchEngine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Columnar Flight Store Test Suite")
+public class ColumnarFlightStoreTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private ColumnarFlightStore store;
+    private LocalDateTime baseDate;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarFlightStore(1000);
+        baseDate = LocalDateTime.of(2025, 12, 15, 10, 0);
+    }
+
+    // ==================== ROW / VIEW TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("View - Reads Back Every Field")
+    void testView_RoundTrip() {
+        Flight original = new Flight("FL001", "NYC", "LAX", baseDate, baseDate.plusMinutes(335), 150, 249.99, "Delta");
+        original.bookSeats(20);
+
+        Flight view = store.add(original);
+
+        assertEquals("FL001", view.getFlightId());
+        assertEquals("NYC", view.getSourceCity());
+        assertEquals("LAX", view.getDestinationCity());
+        assertEquals(baseDate, view.getDepartureTime());
+        assertEquals(baseDate.plusMinutes(335), view.getArrivalTime());
+        assertEquals(150, view.getTotalSeats());
+        assertEquals(130, view.getAvailableSeats());
+        assertEquals(249.99, view.getPricePerSeat());
+        assertEquals("Delta", view.getAirline());
+        assertEquals(335.0, view.getFlightDuration());
+        assertFalse(view.isFull());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Dictionary - Cities And Airlines Stored Once")
+    void testDictionary_SharedCodes() {
+        store.add("FL001", "NYC", "LAX", baseDate, baseDate.plusHours(5), 100, 200.0, "Delta");
+        store.add("FL002", "LAX", "NYC", baseDate, baseDate.plusHours(5), 100, 200.0, "Delta");
+        store.add("FL003", "NYC", "SFO", baseDate, baseDate.plusHours(6), 100, 200.0, "United");
+
+        assertEquals(3, store.size());
+        assertEquals(3, store.getCityCount());
+        assertEquals(2, store.getAirlineCount());
+        assertSame(store.flight(0).getSourceCity(), store.flight(1).getDestinationCity());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("View - Views Of One Row Share Seats And Listeners")
+    void testView_SharedRow() {
+        store.add("FL001", "NYC", "LAX", baseDate, baseDate.plusHours(5), 10, 200.0, "Delta");
+        Flight first = store.flight(0);
+        Flight second = store.flight(0);
+        List<Integer> notified = new ArrayList<>();
+        first.addSeatListener((flight, before, after) -> notified.add(after));
+
+        assertTrue(second.bookSeats(4));
+        second.cancelSeats(1);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(7, first.getAvailableSeats());
+        assertEquals(List.of(6, 7), notified);
+        assertFalse(second.bookSeats(8));
+        assertEquals("Cannot cancel more seats than booked",
+            assertThrows(IllegalArgumentException.class, () -> first.cancelSeats(4)).getMessage());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Search Engine - Same Results Over Views")
+    void testSearchEngine_OverViews() {
+        FlightSearchEngine plainEngine = new FlightSearchEngine();
+        FlightSearchEngine columnarEngine = new FlightSearchEngine(64);
+        String[] cities = {"NYC", "LAX", "SFO", "MIA"};
+        String[] airlines = {"Delta", "United", "American"};
+        for (int i = 0; i < 500; i++) {
+            Flight flight = new Flight("FL" + i, cities[i % 4], cities[(i + 1 + i / 4 % 3) % 4],
+                baseDate.plusHours(i % 72), baseDate.plusHours(i % 72 + 3), 5 + i % 7, 100.0 + (i * 13) % 400, airlines[i % 3]);
+            plainEngine.addFlight(flight);
+            columnarEngine.addFlight(store.add(flight));
+        }
+        for (int i = 0; i < 500; i += 3) {
+            plainEngine.findFlightById("FL" + i).bookSeats(5);
+            columnarEngine.findFlightById("FL" + i).bookSeats(5);
+        }
+
+        for (String source : cities) {
+            for (String destination : cities) {
+                if (source.equals(destination)) {
+                    continue;
+                }
+                for (int day = 0; day < 3; day++) {
+                    LocalDateTime date = baseDate.plusDays(day);
+                    assertEquals(ids(plainEngine.searchFlights(source, destination, date)),
+                        ids(columnarEngine.searchFlights(source, destination, date)));
+                    assertEquals(ids(plainEngine.searchFlightsByPriceRange(source, destination, date, 150.0, 350.0)),
+                        ids(columnarEngine.searchFlightsByPriceRange(source, destination, date, 150.0, 350.0)));
+                    assertEquals(ids(plainEngine.searchFlightsBySeatsAvailable(source, destination, date, 3)),
+                        ids(columnarEngine.searchFlightsBySeatsAvailable(source, destination, date, 3)));
+                }
+            }
+        }
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Concurrency - Bookings Through Separate Views Never Oversell")
+    void testConcurrency_NoOversell() throws Exception {
+        int seats = 1000;
+        store.add("FL001", "NYC", "LAX", baseDate, baseDate.plusHours(5), seats, 200.0, "Delta");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                Flight view = store.flight(0);
+                start.await();
+                int booked = 0;
+                while (view.bookSeats(1)) {
+                    booked++;
+                }
+                return booked;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(seats, total);
+        assertTrue(store.flight(0).isFull());
+    }
+
+    // ==================== VALIDATION TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Validation - Full Store Rejects Rows")
+    void testValidation_Full() {
+        ColumnarFlightStore small = new ColumnarFlightStore(1);
+        small.add("FL001", "NYC", "LAX", baseDate, baseDate.plusHours(5), 10, 200.0, "Delta");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> small.add("FL002", "NYC", "LAX", baseDate, baseDate.plusHours(5), 10, 200.0, "Delta"));
+        assertEquals("Flight store is full", exception.getMessage());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Validation - Invalid Rows Rejected")
+    void testValidation_InvalidRows() {
+        assertEquals("Capacity must be positive",
+            assertThrows(IllegalArgumentException.class, () -> new ColumnarFlightStore(0)).getMessage());
+        assertEquals("Flight times must be whole minutes", assertThrows(IllegalArgumentException.class,
+            () -> store.add("FL001", "NYC", "LAX", baseDate.plusSeconds(30), baseDate.plusHours(5), 10, 200.0, "Delta")).getMessage());
+        assertEquals("Flight fields cannot be null", assertThrows(IllegalArgumentException.class,
+            () -> store.add("FL001", null, "LAX", baseDate, baseDate.plusHours(5), 10, 200.0, "Delta")).getMessage());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.flight(0));
+        assertEquals(0, store.size());
+    }
+
+    private static List<String> ids(List<Flight> flights) {
+        List<String> ids = new ArrayList<>();
+        for (Flight flight : flights) {
+            ids.add(flight.getFlightId());
+        }
+        return ids;
+    }
+}
\ No newline at end of file
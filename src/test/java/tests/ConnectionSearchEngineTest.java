@@ -0,0 +1,271 @@
+package tests;
+
+import model.Flight;
+import model.Itinerary;
+import service.ConnectionSearchEngine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Connection Search Engine Test Suite")
+public class ConnectionSearchEngineTest {
+
+    private ConnectionSearchEngine connectionSearch;
+    private LocalDateTime travelDate;
+
+    @BeforeEach
+    void setUp() {
+        connectionSearch = new ConnectionSearchEngine(Duration.ofMinutes(45), Duration.ofHours(6));
+        travelDate = LocalDateTime.of(2025, 10, 15, 0, 0);
+    }
+
+    private Flight createFlight(String id, String source, String dest, LocalDateTime departure,
+                                int durationMinutes, double price) {
+        return new Flight(id, source, dest, departure, departure.plusMinutes(durationMinutes), 100, price, "PIA");
+    }
+
+    private List<String> legIds(Itinerary itinerary) {
+        return itinerary.getLegs().stream().map(Flight::getFlightId).collect(Collectors.toList());
+    }
+
+    // ==================== ITINERARY SEARCH TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - One-Stop Itinerary Through Lahore")
+    void testSearchItineraries_OneStop() {
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(10), 120, 5000));
+        connectionSearch.addFlight(createFlight("FL002", "Lahore", "Islamabad", travelDate.withHour(13), 60, 3500));
+
+        List<Itinerary> itineraries = connectionSearch.searchItineraries("karachi", "ISLAMABAD", travelDate);
+
+        assertEquals(1, itineraries.size());
+        Itinerary itinerary = itineraries.get(0);
+        assertEquals(List.of("FL001", "FL002"), legIds(itinerary));
+        assertEquals(1, itinerary.getNumberOfStops());
+        assertEquals(8500.0, itinerary.getTotalPrice());
+        assertEquals(travelDate.withHour(14), itinerary.getArrivalTime());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Pareto Set Keeps Fast Direct and Cheap Connection")
+    void testSearchItineraries_ParetoTradeOff() {
+        connectionSearch.addFlight(createFlight("DIRECT", "Karachi", "Islamabad", travelDate.withHour(10), 120, 12000));
+        connectionSearch.addFlight(createFlight("SLOWDIRECT", "Karachi", "Islamabad", travelDate.withHour(15), 120, 13000));
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(9), 120, 5000));
+        connectionSearch.addFlight(createFlight("FL002", "Lahore", "Islamabad", travelDate.withHour(12), 60, 3500));
+
+        List<Itinerary> itineraries = connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate);
+
+        assertEquals(2, itineraries.size());
+        assertEquals(List.of("DIRECT"), legIds(itineraries.get(0)));
+        assertEquals(List.of("FL001", "FL002"), legIds(itineraries.get(1)));
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Fewer Stops Kept Even When Slower")
+    void testSearchItineraries_FewerStopsKept() {
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(9), 120, 5000));
+        connectionSearch.addFlight(createFlight("FL002", "Lahore", "Islamabad", travelDate.withHour(12), 60, 3500));
+        connectionSearch.addFlight(createFlight("DIRECT", "Karachi", "Islamabad", travelDate.withHour(18), 120, 8500));
+
+        List<Itinerary> itineraries = connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate);
+
+        assertEquals(2, itineraries.size());
+        assertEquals(1, itineraries.get(0).getNumberOfStops());
+        assertTrue(itineraries.get(1).isDirect());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Connection Window Enforced")
+    void testSearchItineraries_ConnectionWindow() {
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(10), 120, 5000));
+        // 30 minute connection: below the 45 minute minimum
+        connectionSearch.addFlight(createFlight("TOOSOON", "Lahore", "Islamabad", travelDate.withHour(12).withMinute(30), 60, 3000));
+        // 7 hour connection: above the 6 hour maximum
+        connectionSearch.addFlight(createFlight("TOOLATE", "Lahore", "Islamabad", travelDate.withHour(19), 60, 3000));
+
+        assertTrue(connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate).isEmpty());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Two-Stop Itinerary and Max Stops Limit")
+    void testSearchItineraries_TwoStops() {
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Multan", travelDate.withHour(6), 90, 3000));
+        connectionSearch.addFlight(createFlight("FL002", "Multan", "Lahore", travelDate.withHour(9), 60, 2000));
+        connectionSearch.addFlight(createFlight("FL003", "Lahore", "Islamabad", travelDate.withHour(11), 60, 2500));
+
+        List<Itinerary> twoStops = connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate, 2);
+        assertEquals(1, twoStops.size());
+        assertEquals(List.of("FL001", "FL002", "FL003"), legIds(twoStops.get(0)));
+
+        assertTrue(connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate, 1).isEmpty());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Sold Out Legs and Other Days Ignored")
+    void testSearchItineraries_SoldOutAndOtherDays() {
+        Flight soldOut = createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(10), 120, 5000);
+        soldOut.bookSeats(100);
+        connectionSearch.addFlight(soldOut);
+        connectionSearch.addFlight(createFlight("FL002", "Karachi", "Lahore", travelDate.plusDays(1).withHour(10), 120, 5000));
+        connectionSearch.addFlight(createFlight("FL003", "Lahore", "Islamabad", travelDate.withHour(13), 60, 3500));
+
+        assertTrue(connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate).isEmpty());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Flights Added After a Search Are Visible")
+    void testSearchItineraries_RebuildsAfterAdd() {
+        connectionSearch.addFlight(createFlight("FL001", "Karachi", "Lahore", travelDate.withHour(10), 120, 5000));
+        assertTrue(connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate).isEmpty());
+
+        connectionSearch.addFlight(createFlight("FL002", "Lahore", "Islamabad", travelDate.withHour(13), 60, 3500));
+
+        assertEquals(1, connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate).size());
+        assertEquals(2, connectionSearch.getTotalFlights());
+    }
+
+    // ==================== VALIDATION TESTS ====================
+
+    @ParameterizedTest(name = "Test {index}: maxStops={0}")
+    @ValueSource(ints = {-1, 3})
+    @Tag("fast")
+    @DisplayName("Connections - Max Stops Out of Range")
+    void testSearchItineraries_InvalidMaxStops(int maxStops) {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> connectionSearch.searchItineraries("Karachi", "Islamabad", travelDate, maxStops)
+        );
+        assertEquals("Max stops must be between 0 and 2", exception.getMessage());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Invalid Connection Window")
+    void testConstructor_InvalidWindow() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ConnectionSearchEngine(Duration.ofHours(3), Duration.ofHours(1))
+        );
+        assertEquals("Minimum connection time cannot exceed maximum connection time", exception.getMessage());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Connections - Same Source and Destination")
+    void testSearchItineraries_SameSourceDestination() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> connectionSearch.searchItineraries("Karachi", "karachi", travelDate)
+        );
+        assertEquals("Source and destination cannot be same", exception.getMessage());
+    }
+
+    // ==================== BRUTE FORCE CROSS-CHECK ====================
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Connections - Matches Brute Force Pareto Set on Random Timetables")
+    void testSearchItineraries_MatchesBruteForce() {
+        String[] cities = {"Karachi", "Lahore", "Islamabad", "Multan", "Quetta", "Peshawar"};
+        Random random = new Random(11);
+        for (int trial = 0; trial < 30; trial++) {
+            ConnectionSearchEngine engine = new ConnectionSearchEngine(Duration.ofMinutes(45), Duration.ofHours(6));
+            List<Flight> flights = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                String source = cities[random.nextInt(cities.length)];
+                String dest = cities[random.nextInt(cities.length)];
+                if (source.equals(dest)) {
+                    continue;
+                }
+                Flight flight = createFlight("T" + trial + "F" + i, source, dest,
+                    travelDate.plusMinutes(random.nextInt(36 * 60)), 30 + random.nextInt(180),
+                    1000 + random.nextInt(20) * 250);
+                flights.add(flight);
+                engine.addFlight(flight);
+            }
+
+            Set<String> expected = bruteForcePareto(flights, "Karachi", "Islamabad");
+            Set<String> actual = engine.searchItineraries("Karachi", "Islamabad", travelDate).stream()
+                .map(this::criteria)
+                .collect(Collectors.toSet());
+            assertEquals(expected, actual, "trial " + trial);
+        }
+    }
+
+    private String criteria(Itinerary itinerary) {
+        return itinerary.getArrivalTime() + "|" + itinerary.getTotalPrice() + "|" + itinerary.getNumberOfStops();
+    }
+
+    private Set<String> bruteForcePareto(List<Flight> flights, String source, String dest) {
+        List<Itinerary> all = new ArrayList<>();
+        for (Flight first : flights) {
+            if (!first.getSourceCity().equals(source)
+                    || !first.getDepartureTime().toLocalDate().equals(travelDate.toLocalDate())
+                    || first.getDestinationCity().equals(source)) {
+                continue;
+            }
+            if (first.getDestinationCity().equals(dest)) {
+                all.add(new Itinerary(List.of(first)));
+                continue;
+            }
+            for (Flight second : flights) {
+                if (!connects(first, second) || second.getDestinationCity().equals(source)) {
+                    continue;
+                }
+                if (second.getDestinationCity().equals(dest)) {
+                    all.add(new Itinerary(List.of(first, second)));
+                    continue;
+                }
+                for (Flight third : flights) {
+                    if (connects(second, third) && third.getDestinationCity().equals(dest)) {
+                        all.add(new Itinerary(List.of(first, second, third)));
+                    }
+                }
+            }
+        }
+        return all.stream()
+            .filter(a -> all.stream().noneMatch(b -> dominates(b, a)))
+            .map(this::criteria)
+            .collect(Collectors.toSet());
+    }
+
+    private boolean connects(Flight inbound, Flight outbound) {
+        if (!inbound.getDestinationCity().equals(outbound.getSourceCity())) {
+            return false;
+        }
+        long minutes = Duration.between(inbound.getArrivalTime(), outbound.getDepartureTime()).toMinutes();
+        return minutes >= 45 && minutes <= 6 * 60;
+    }
+
+    private boolean dominates(Itinerary b, Itinerary a) {
+        boolean noWorse = !b.getArrivalTime().isAfter(a.getArrivalTime())
+            && b.getTotalPrice() <= a.getTotalPrice()
+            && b.getNumberOfStops() <= a.getNumberOfStops();
+        boolean better = b.getArrivalTime().isBefore(a.getArrivalTime())
+            || b.getTotalPrice() < a.getTotalPrice()
+            || b.getNumberOfStops() < a.getNumberOfStops();
+        return noWorse && better;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,12 @@
 package tests;
 
+import model.FareBuckets;
+import model.FareCalendarDay;
+import model.FareQuote;
 import model.Flight;
+import model.SearchCursor;
+import model.SearchPage;
+import service.FlightQuery;
 import service.FlightSearchEngine;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,8 +16,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -683,4 +699,825 @@ public class FlightSearchEngineTest {
         searchEngine.addFlight(flight2);
         assertEquals(2, searchEngine.getTotalFlights());
     }
+    
+    // ==================== ROUTE INDEX TESTS ====================
+    
+    @Test
+    @DisplayName("Route Index - Only Requested Route Day Returned")
+    void testSearchFlights_OnlyRequestedRouteDay() {
+        Flight sameDay = createFlight("FL001", "NYC", "LAX", baseDate, 100, 200.0, "Delta");
+        Flight lateSameDay = createFlight("FL002", "nyc", "lax", baseDate.withHour(23).withMinute(59), 100, 210.0, "United");
+        Flight nextDay = createFlight("FL003", "NYC", "LAX", baseDate.plusDays(1).withHour(0), 100, 220.0, "Delta");
+        Flight reverse = createFlight("FL004", "LAX", "NYC", baseDate, 100, 230.0, "Delta");
+        
+        searchEngine.addFlight(sameDay);
+        searchEngine.addFlight(nextDay);
+        searchEngine.addFlight(reverse);
+        searchEngine.addFlight(lateSameDay);
+        
+        List<Flight> results = searchEngine.searchFlights("Nyc", "Lax", baseDate.withHour(0));
+        
+        assertEquals(List.of(sameDay, lateSameDay), results);
+        assertEquals(List.of(nextDay), searchEngine.searchFlights("NYC", "LAX", baseDate.plusDays(1)));
+        assertEquals(List.of(reverse), searchEngine.searchFlights("LAX", "NYC", baseDate));
+    }
+    
+    @Test
+    @DisplayName("Flight ID Index - Duplicate Detection Ignores Case")
+    void testAddFlight_DuplicateIdDifferentCase() {
+        searchEngine.addFlight(createFlight("FL001", "NYC", "LAX", baseDate, 100, 200.0, "Delta"));
+        
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> searchEngine.addFlight(createFlight("fl001", "SFO", "MIA", baseDate, 80, 150.0, "United"))
+        );
+        assertEquals("Flight already exists", exception.getMessage());
+        assertEquals(1, searchEngine.getTotalFlights());
+        assertEquals("NYC", searchEngine.findFlightById("Fl001").getSourceCity());
+    }
+    
+    @Test
+    @DisplayName("Flight ID Index - Bulk Load")
+    void testAddFlight_BulkLoad() {
+        int count = 50_000;
+        for (int i = 0; i < count; i++) {
+            searchEngine.addFlight(createFlight("BULK" + i, "NYC", "LAX", baseDate.plusDays(i % 330), 100, 200.0, "Delta"));
+        }
+        
+        assertEquals(count, searchEngine.getTotalFlights());
+        assertEquals("BULK" + (count - 1), searchEngine.findFlightById("bulk" + (count - 1)).getFlightId());
+        assertNull(searchEngine.findFlightById("BULK" + count));
+    }
+    
+    // ==================== PRICE INDEX TESTS ====================
+    
+    @Test
+    @DisplayName("Price Index - Price Range Returned Cheapest First")
+    void testSearchFlightsByPriceRange_SortedByPrice() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 100, 300.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 100, 120.0, "United");
+        Flight flight3 = createFlight("FL003", "NYC", "LAX", baseDate, 100, 200.0, "American");
+        Flight flight4 = createFlight("FL004", "NYC", "LAX", baseDate, 100, 200.0, "Delta");
+        Flight flight5 = createFlight("FL005", "NYC", "LAX", baseDate, 100, 90.0, "Delta");
+        for (Flight flight : List.of(flight1, flight2, flight3, flight4, flight5)) {
+            searchEngine.addFlight(flight);
+        }
+        flight3.bookSeats(100);
+        
+        List<Flight> results = searchEngine.searchFlightsByPriceRange("NYC", "LAX", baseDate, 120.0, 300.0);
+        
+        assertEquals(List.of(flight2, flight4, flight1), results);
+    }
+    
+    @Test
+    @DisplayName("Cheapest Flights - Top K Skips Sold Out Flights")
+    void testCheapestFlights_TopK() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 100, 300.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 100, 120.0, "United");
+        Flight flight3 = createFlight("FL003", "NYC", "LAX", baseDate, 100, 90.0, "American");
+        Flight flight4 = createFlight("FL004", "NYC", "LAX", baseDate, 100, 150.0, "Delta");
+        Flight otherDay = createFlight("FL005", "NYC", "LAX", baseDate.plusDays(1), 100, 10.0, "Delta");
+        for (Flight flight : List.of(flight1, flight2, flight3, flight4, otherDay)) {
+            searchEngine.addFlight(flight);
+        }
+        flight3.bookSeats(100);
+        
+        assertEquals(List.of(flight2, flight4), searchEngine.cheapestFlights("nyc", "lax", baseDate, 2));
+        assertEquals(List.of(flight2, flight4, flight1), searchEngine.cheapestFlights("NYC", "LAX", baseDate, 10));
+        assertTrue(searchEngine.cheapestFlights("NYC", "MIA", baseDate, 3).isEmpty());
+    }
+    
+    @ParameterizedTest(name = "Test {index}: k={0}")
+    @ValueSource(ints = {0, -1})
+    @DisplayName("Cheapest Flights - Non-Positive K Rejected")
+    void testCheapestFlights_InvalidK(int k) {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> searchEngine.cheapestFlights("NYC", "LAX", baseDate, k)
+        );
+        assertEquals("Number of flights must be positive", exception.getMessage());
+    }
+    
+    // ==================== RESULT CACHE TESTS ====================
+    
+    @Test
+    @DisplayName("Result Cache - Repeated Search Served From Cache")
+    void testResultCache_Hit() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 100, 200.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 100, 150.0, "United");
+        cachedEngine.addFlight(flight1);
+        cachedEngine.addFlight(flight2);
+        
+        List<Flight> first = cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        List<Flight> second = cachedEngine.searchFlights("nyc", "lax", baseDate.plusHours(3));
+        
+        assertEquals(List.of(flight1, flight2), first);
+        assertEquals(first, second);
+        assertEquals(1, cachedEngine.getCacheMissCount());
+        assertEquals(1, cachedEngine.getCacheHitCount());
+        
+        // callers get their own copy
+        second.clear();
+        assertEquals(2, cachedEngine.searchFlights("NYC", "LAX", baseDate).size());
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Sold Out Flight Invalidates Route-Day")
+    void testResultCache_SoldOutInvalidates() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 10, 150.0, "United");
+        Flight otherDay = createFlight("FL003", "NYC", "LAX", baseDate.plusDays(1), 10, 150.0, "United");
+        cachedEngine.addFlight(flight1);
+        cachedEngine.addFlight(flight2);
+        cachedEngine.addFlight(otherDay);
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        cachedEngine.cheapestFlights("NYC", "LAX", baseDate, 1);
+        cachedEngine.searchFlights("NYC", "LAX", baseDate.plusDays(1));
+        
+        // no boundary crossed, entries stay
+        flight2.bookSeats(5);
+        assertEquals(3, cachedEngine.getCachedResultCount());
+        
+        flight2.bookSeats(5);
+        assertEquals(1, cachedEngine.getCachedResultCount());
+        assertEquals(List.of(flight1), cachedEngine.searchFlights("NYC", "LAX", baseDate));
+        assertEquals(List.of(flight1), cachedEngine.cheapestFlights("NYC", "LAX", baseDate, 1));
+        
+        flight2.cancelSeats(1);
+        assertEquals(List.of(flight1, flight2), cachedEngine.searchFlights("NYC", "LAX", baseDate));
+        assertEquals(List.of(flight2), cachedEngine.cheapestFlights("NYC", "LAX", baseDate, 1));
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Seat Filter Invalidated At Its Own Threshold")
+    void testResultCache_SeatThreshold() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        Flight flight = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        cachedEngine.addFlight(flight);
+        
+        assertEquals(List.of(flight), cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 5));
+        assertEquals(List.of(flight), cachedEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "delta"));
+        
+        flight.bookSeats(6);
+        assertEquals(1, cachedEngine.getCachedResultCount());
+        assertTrue(cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 5).isEmpty());
+        assertEquals(List.of(flight), cachedEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "DELTA"));
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Concurrent Bookings Leave Consistent Results")
+    void testResultCache_ConcurrentBookings() throws InterruptedException {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 200, 200.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 200, 150.0, "United");
+        cachedEngine.addFlight(flight1);
+        cachedEngine.addFlight(flight2);
+        
+        List<Thread> bookers = new ArrayList<>();
+        for (Flight flight : List.of(flight1, flight2)) {
+            for (int t = 0; t < 4; t++) {
+                bookers.add(new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        flight.bookSeats(1);
+                    }
+                }));
+            }
+        }
+        bookers.forEach(Thread::start);
+        for (int i = 0; i < 200; i++) {
+            cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 100);
+        }
+        for (Thread booker : bookers) {
+            booker.join();
+        }
+        
+        assertTrue(cachedEngine.searchFlights("NYC", "LAX", baseDate).isEmpty());
+        assertTrue(cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 100).isEmpty());
+        flight2.cancelSeats(100);
+        assertEquals(List.of(flight2), cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 100));
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Invalidation Checks Keep Recency Order")
+    void testResultCache_InvalidationKeepsLruOrder() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(3);
+        Flight x = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        for (Flight flight : List.of(x,
+                createFlight("FL002", "NYC", "SFO", baseDate, 10, 200.0, "Delta"),
+                createFlight("FL003", "NYC", "BOS", baseDate, 10, 200.0, "Delta"),
+                createFlight("FL004", "NYC", "MIA", baseDate, 10, 200.0, "Delta"))) {
+            cachedEngine.addFlight(flight);
+        }
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        cachedEngine.searchFlightsBySeatsAvailable("NYC", "LAX", baseDate, 5);
+        cachedEngine.searchFlights("NYC", "SFO", baseDate);
+        
+        // drops the 5-seat entry; the older LAX entry must stay least recently used
+        x.bookSeats(6);
+        assertEquals(2, cachedEngine.getCachedResultCount());
+        cachedEngine.searchFlights("NYC", "BOS", baseDate);
+        cachedEngine.searchFlights("NYC", "MIA", baseDate);
+        assertEquals(1, cachedEngine.getCacheEvictionCount());
+        
+        long hits = cachedEngine.getCacheHitCount();
+        cachedEngine.searchFlights("NYC", "SFO", baseDate);
+        assertEquals(hits + 1, cachedEngine.getCacheHitCount());
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        assertEquals(hits + 1, cachedEngine.getCacheHitCount());
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Added Flight Invalidates Route-Day")
+    void testResultCache_AddFlightInvalidates() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        cachedEngine.addFlight(flight1);
+        assertEquals(List.of(flight1), cachedEngine.searchFlightsByPriceRange("NYC", "LAX", baseDate, 100.0, 300.0));
+        assertTrue(cachedEngine.searchFlights("NYC", "MIA", baseDate).isEmpty());
+        
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 10, 150.0, "United");
+        Flight flight3 = createFlight("FL003", "NYC", "MIA", baseDate, 10, 150.0, "United");
+        cachedEngine.addFlight(flight2);
+        cachedEngine.addFlight(flight3);
+        
+        assertEquals(List.of(flight2, flight1), cachedEngine.searchFlightsByPriceRange("NYC", "LAX", baseDate, 100.0, 300.0));
+        assertEquals(List.of(flight3), cachedEngine.searchFlights("NYC", "MIA", baseDate));
+        assertEquals(0, cachedEngine.getCacheHitCount());
+    }
+    
+    @Test
+    @DisplayName("Result Cache - Least Recently Used Entry Evicted")
+    void testResultCache_Eviction() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(2);
+        for (int day = 0; day < 3; day++) {
+            cachedEngine.addFlight(createFlight("FL00" + day, "NYC", "LAX", baseDate.plusDays(day), 10, 200.0, "Delta"));
+        }
+        
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        cachedEngine.searchFlights("NYC", "LAX", baseDate.plusDays(1));
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        cachedEngine.searchFlights("NYC", "LAX", baseDate.plusDays(2));
+        assertEquals(1, cachedEngine.getCacheEvictionCount());
+        assertEquals(2, cachedEngine.getCachedResultCount());
+        
+        cachedEngine.searchFlights("NYC", "LAX", baseDate);
+        assertEquals(2, cachedEngine.getCacheHitCount());
+        cachedEngine.searchFlights("NYC", "LAX", baseDate.plusDays(1));
+        assertEquals(4, cachedEngine.getCacheMissCount());
+    }
+    
+    @ParameterizedTest(name = "Test {index}: capacity={0}")
+    @ValueSource(ints = {0, -1})
+    @DisplayName("Result Cache - Non-Positive Capacity Rejected")
+    void testResultCache_InvalidCapacity(int capacity) {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new FlightSearchEngine(capacity)
+        );
+        assertEquals("Cache capacity must be positive", exception.getMessage());
+    }
+    
+    // ==================== FARE CALENDAR TESTS ====================
+    
+    @Test
+    @DisplayName("Fare Calendar - Lowest Fare And Count Per Day")
+    void testFareCalendar_AroundCenterDate() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate.minusDays(1), 100, 300.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 100, 250.0, "United");
+        Flight flight3 = createFlight("FL003", "NYC", "LAX", baseDate.plusHours(5), 100, 180.0, "American");
+        Flight flight4 = createFlight("FL004", "NYC", "LAX", baseDate, 100, 120.0, "Delta");
+        Flight flight5 = createFlight("FL005", "NYC", "LAX", baseDate.plusDays(3), 100, 90.0, "Delta");
+        Flight otherRoute = createFlight("FL006", "NYC", "SFO", baseDate, 100, 50.0, "Delta");
+        for (Flight flight : List.of(flight1, flight2, flight3, flight4, flight5, otherRoute)) {
+            searchEngine.addFlight(flight);
+        }
+        flight4.bookSeats(100);
+        
+        List<FareCalendarDay> calendar = searchEngine.fareCalendar("nyc", "lax", baseDate, 2);
+        
+        LocalDate center = baseDate.toLocalDate();
+        assertEquals(List.of(
+            new FareCalendarDay(center.minusDays(2), Double.NaN, 0),
+            new FareCalendarDay(center.minusDays(1), 300.0, 1),
+            new FareCalendarDay(center, 180.0, 2),
+            new FareCalendarDay(center.plusDays(1), Double.NaN, 0),
+            new FareCalendarDay(center.plusDays(2), Double.NaN, 0)
+        ), calendar);
+        assertFalse(calendar.get(0).hasAvailability());
+        assertTrue(calendar.get(2).hasAvailability());
+    }
+    
+    @Test
+    @DisplayName("Fare Calendar - Month View Matches Per-Day Searches")
+    void testFareCalendar_MonthView() {
+        LocalDate start = LocalDate.of(2025, 12, 1);
+        for (int i = 0; i < 200; i++) {
+            searchEngine.addFlight(createFlight("FL" + i, "NYC", "LAX",
+                start.atTime(6, 0).plusDays(i % 45).plusMinutes(i), 10, 100.0 + (i * 37) % 250, "Delta"));
+        }
+        searchEngine.findFlightById("FL3").bookSeats(10);
+        
+        List<FareCalendarDay> calendar = searchEngine.fareCalendar("NYC", "LAX", start, start.plusDays(59));
+        
+        assertEquals(FlightSearchEngine.MAX_CALENDAR_DAYS, calendar.size());
+        for (FareCalendarDay day : calendar) {
+            List<Flight> flights = searchEngine.searchFlights("NYC", "LAX", day.getDate().atStartOfDay());
+            assertEquals(flights.size(), day.getAvailableFlights());
+            assertEquals(flights.stream().mapToDouble(Flight::getPricePerSeat).min().orElse(Double.NaN), day.getLowestPrice());
+        }
+    }
+    
+    @Test
+    @DisplayName("Fare Calendar - Unknown Route Returns Empty Days")
+    void testFareCalendar_UnknownRoute() {
+        List<FareCalendarDay> calendar = searchEngine.fareCalendar("NYC", "MIA", baseDate, 0);
+        
+        assertEquals(List.of(new FareCalendarDay(baseDate.toLocalDate(), Double.NaN, 0)), calendar);
+    }
+    
+    @Test
+    @DisplayName("Fare Calendar - Invalid Windows Rejected")
+    void testFareCalendar_InvalidWindow() {
+        LocalDate start = baseDate.toLocalDate();
+        
+        assertEquals("Days cannot be negative", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "LAX", baseDate, -1)).getMessage());
+        assertEquals("Calendar window cannot exceed 60 days", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "LAX", baseDate, 30)).getMessage());
+        assertEquals("Calendar window cannot exceed 60 days", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "LAX", start, start.plusDays(60))).getMessage());
+        assertEquals("Start date cannot be after end date", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "LAX", start, start.minusDays(1))).getMessage());
+        assertEquals("Source and destination cannot be same", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "nyc", start, start)).getMessage());
+        assertEquals("Travel date cannot be null", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.fareCalendar("NYC", "LAX", null, start)).getMessage());
+    }
+    
+    // ==================== AIRLINE BITMAP TESTS ====================
+    
+    @Test
+    @DisplayName("Airline Bitmap - Mixed Case Names Filtered In Insertion Order")
+    void testSearchFlightsByAirline_Bitmap() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 100, 300.0, "Delta");
+        Flight flight2 = createFlight("FL002", "nyc", "lax", baseDate, 100, 120.0, "United");
+        Flight flight3 = createFlight("FL003", "Nyc", "Lax", baseDate, 100, 200.0, "DELTA");
+        Flight flight4 = createFlight("FL004", "NYC", "LAX", baseDate, 100, 90.0, "delta");
+        Flight flight5 = createFlight("FL005", "NYC", "LAX", baseDate.plusDays(1), 100, 90.0, "Delta");
+        Flight flight6 = createFlight("FL006", "NYC", "LAX", baseDate, 100, 95.0, "");
+        for (Flight flight : List.of(flight1, flight2, flight3, flight4, flight5, flight6)) {
+            searchEngine.addFlight(flight);
+        }
+        flight3.bookSeats(100);
+        
+        assertEquals(List.of(flight1, flight4), searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "dElTa"));
+        assertEquals(List.of(flight2), searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "UNITED"));
+        assertTrue(searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "Never Seen Airline").isEmpty());
+        assertTrue(searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, null).isEmpty());
+        assertTrue(searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, "  ").isEmpty());
+        assertEquals(List.of(flight6), searchEngine.searchFlightsByAirline("NYC", "LAX", baseDate, ""));
+        assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsByAirline("NYC", "NYC", baseDate, null));
+        assertEquals(List.of(flight1, flight2, flight4, flight6), searchEngine.searchFlights("nYc", "LaX", baseDate));
+    }
+    
+    @Test
+    @DisplayName("Result Cache - City First Seen After A Cached Miss")
+    void testResultCache_NewCityAfterMiss() {
+        FlightSearchEngine cachedEngine = new FlightSearchEngine(16);
+        String city = "Cache Test City " + System.nanoTime();
+        
+        assertTrue(cachedEngine.searchFlights("NYC", city, baseDate).isEmpty());
+        Flight flight = createFlight("FL001", "NYC", city, baseDate, 100, 200.0, "Delta");
+        cachedEngine.addFlight(flight);
+        
+        assertEquals(List.of(flight), cachedEngine.searchFlights("NYC", city.toUpperCase(), baseDate));
+    }
+    
+    // ==================== FLIGHT QUERY TESTS ====================
+    
+    @Test
+    @DisplayName("Flight Query - Combined Predicates")
+    void testSearch_CombinedPredicates() {
+        Flight match = createFlight("FL001", "NYC", "LAX", baseDate, 10, 180.0, "Delta");
+        Flight wrongAirline = createFlight("FL002", "NYC", "LAX", baseDate, 10, 180.0, "Spirit");
+        Flight tooExpensive = createFlight("FL003", "NYC", "LAX", baseDate, 10, 400.0, "United");
+        Flight tooEarly = createFlight("FL004", "NYC", "LAX", baseDate.withHour(6), 10, 180.0, "Delta");
+        Flight tooFewSeats = createFlight("FL005", "NYC", "LAX", baseDate, 1, 180.0, "United");
+        Flight tooLong = new Flight("FL006", "NYC", "LAX", baseDate, baseDate.plusHours(7), 10, 180.0, "Delta");
+        Flight nextDay = createFlight("FL007", "NYC", "LAX", baseDate.plusDays(1).withHour(9), 10, 150.0, "united");
+        Flight outsideRange = createFlight("FL008", "NYC", "LAX", baseDate.plusDays(3), 10, 150.0, "Delta");
+        for (Flight flight : List.of(match, wrongAirline, tooExpensive, tooEarly, tooFewSeats, tooLong, nextDay, outsideRange)) {
+            searchEngine.addFlight(flight);
+        }
+        
+        FlightQuery query = new FlightQuery("nyc", "LAX", baseDate.toLocalDate(), baseDate.toLocalDate().plusDays(2))
+            .airlines("DELTA", "United")
+            .priceBetween(100.0, 200.0)
+            .minSeats(2)
+            .departingBetween(LocalTime.of(8, 0), LocalTime.of(12, 0))
+            .maxDuration(Duration.ofHours(3));
+        
+        assertEquals(List.of(match, nextDay), searchEngine.search(query));
+    }
+    
+    @Test
+    @DisplayName("Flight Query - Overnight Departure Window")
+    void testSearch_OvernightWindow() {
+        LocalDateTime midnight = baseDate.toLocalDate().atStartOfDay();
+        Flight late = createFlight("FL001", "NYC", "LAX", midnight.withHour(23).withMinute(30), 10, 200.0, "Delta");
+        Flight early = createFlight("FL002", "NYC", "LAX", midnight.withHour(1).withMinute(15), 10, 200.0, "Delta");
+        Flight edge = createFlight("FL003", "NYC", "LAX", midnight.withHour(2).withMinute(1), 10, 200.0, "Delta");
+        Flight noon = createFlight("FL004", "NYC", "LAX", midnight.withHour(12), 10, 200.0, "Delta");
+        for (Flight flight : List.of(late, early, edge, noon)) {
+            searchEngine.addFlight(flight);
+        }
+        
+        FlightQuery query = new FlightQuery("NYC", "LAX", baseDate.toLocalDate())
+            .departingBetween(LocalTime.of(22, 0), LocalTime.of(2, 0));
+        
+        assertEquals(List.of(late, early), searchEngine.search(query));
+    }
+    
+    @Test
+    @DisplayName("Flight Query - Matches Brute Force Filter")
+    void testSearch_MatchesBruteForce() {
+        Random random = new Random(17);
+        String[] cities = {"NYC", "LAX", "SFO"};
+        String[] airlines = {"Delta", "United", "American", "Spirit"};
+        List<Flight> all = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDateTime departure = baseDate.toLocalDate().atStartOfDay()
+                .plusDays(random.nextInt(10)).plusMinutes(random.nextInt(24 * 60));
+            int source = random.nextInt(3);
+            Flight flight = new Flight("Q" + i, cities[source], cities[(source + 1 + random.nextInt(2)) % 3],
+                departure, departure.plusMinutes(45 + random.nextInt(30 * 60)),
+                1 + random.nextInt(8), 50 + random.nextInt(500), airlines[random.nextInt(4)]);
+            searchEngine.addFlight(flight);
+            all.add(flight);
+        }
+        for (int i = 0; i < 300; i++) {
+            all.get(random.nextInt(all.size())).bookSeats(1);
+        }
+        
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(3);
+            LocalDate start = baseDate.toLocalDate().plusDays(random.nextInt(10));
+            FlightQuery query = new FlightQuery(cities[source], cities[(source + 1) % 3], start, start.plusDays(random.nextInt(4)));
+            if (random.nextBoolean()) {
+                query.airlines(airlines[random.nextInt(4)], airlines[random.nextInt(4)].toUpperCase());
+            }
+            if (random.nextBoolean()) {
+                double min = random.nextInt(400);
+                query.priceBetween(min, min + random.nextInt(300));
+            }
+            if (random.nextBoolean()) {
+                query.minSeats(1 + random.nextInt(6));
+            }
+            if (random.nextBoolean()) {
+                query.departingBetween(LocalTime.of(random.nextInt(24), random.nextInt(60)),
+                    LocalTime.of(random.nextInt(24), random.nextInt(60)));
+            }
+            if (random.nextBoolean()) {
+                query.maxDuration(Duration.ofMinutes(60 + random.nextInt(30 * 60)));
+            }
+            
+            List<Flight> expected = new ArrayList<>();
+            for (Flight flight : all) {
+                if (query.matches(flight)) {
+                    expected.add(flight);
+                }
+            }
+            expected.sort(Comparator.comparing(f -> f.getDepartureTime().toLocalDate()));
+            
+            assertEquals(expected, searchEngine.search(query), query.toString());
+        }
+    }
+    
+    @Test
+    @DisplayName("Flight Query - Unknown Names Return Empty")
+    void testSearch_UnknownNames() {
+        searchEngine.addFlight(createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta"));
+        LocalDate date = baseDate.toLocalDate();
+        
+        assertTrue(searchEngine.search(new FlightQuery("NYC", "Nowhere Query City", date)).isEmpty());
+        assertTrue(searchEngine.search(new FlightQuery("NYC", "LAX", date).airlines("Nowhere Air")).isEmpty());
+        assertEquals(1, searchEngine.search(new FlightQuery("NYC", "LAX", date).airlines("Nowhere Air", "delta")).size());
+    }
+    
+    @Test
+    @DisplayName("Flight Query - Invalid Predicates Rejected")
+    void testSearch_InvalidQuery() {
+        LocalDate date = baseDate.toLocalDate();
+        
+        assertEquals("Query cannot be null", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.search(null)).getMessage());
+        assertEquals("Source and destination cannot be same", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "nyc", date)).getMessage());
+        assertEquals("Start date cannot be after end date", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "LAX", date, date.minusDays(1))).getMessage());
+        assertEquals("Min price cannot be greater than max price", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "LAX", date).priceBetween(300.0, 100.0)).getMessage());
+        assertEquals("Required seats must be positive", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "LAX", date).minSeats(0)).getMessage());
+        assertEquals("Airlines cannot be empty", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "LAX", date).airlines()).getMessage());
+        assertEquals("Max duration must be positive", assertThrows(IllegalArgumentException.class,
+            () -> new FlightQuery("NYC", "LAX", date).maxDuration(Duration.ZERO)).getMessage());
+    }
+    
+    // ==================== DEPARTURE WINDOW TESTS ====================
+    
+    @Test
+    @DisplayName("Departure Window - Overnight Window In Departure Order")
+    void testSearchFlightsDepartingBetween_Overnight() {
+        LocalDateTime evening = baseDate.withHour(21);
+        Flight redEye = new Flight("FL001", "NYC", "LAX", evening.plusHours(2), evening.plusHours(8), 10, 200.0, "Delta");
+        Flight afterMidnight = new Flight("FL002", "NYC", "LAX", evening.plusHours(4), evening.plusHours(9), 10, 150.0, "United");
+        Flight evening1 = new Flight("FL003", "NYC", "LAX", evening, evening.plusHours(5), 10, 180.0, "Delta");
+        Flight morning = new Flight("FL004", "NYC", "LAX", evening.plusHours(12), evening.plusHours(17), 10, 120.0, "Delta");
+        Flight soldOut = new Flight("FL005", "NYC", "LAX", evening.plusHours(1), evening.plusHours(6), 10, 120.0, "Delta");
+        for (Flight flight : List.of(redEye, afterMidnight, evening1, morning, soldOut)) {
+            searchEngine.addFlight(flight);
+        }
+        soldOut.bookSeats(10);
+        
+        List<Flight> results = searchEngine.searchFlightsDepartingBetween("nyc", "LAX", evening, evening.plusHours(5));
+        
+        assertEquals(List.of(evening1, redEye, afterMidnight), results);
+        assertEquals(List.of(redEye), searchEngine.searchFlightsDepartingBetween("NYC", "LAX",
+            evening.plusHours(2), evening.plusHours(2)));
+    }
+    
+    @Test
+    @DisplayName("Departure Window - Arriving By And Duration Limits")
+    void testSearchFlightsArrivingBy_AndDuration() {
+        LocalDateTime morning = baseDate.withHour(6);
+        Flight early = new Flight("FL001", "NYC", "LAX", morning, morning.plusHours(6), 10, 200.0, "Delta");
+        Flight quick = new Flight("FL002", "NYC", "LAX", morning.plusHours(4), morning.plusHours(7), 10, 150.0, "United");
+        Flight slow = new Flight("FL003", "NYC", "LAX", morning.plusHours(2), morning.plusHours(13), 10, 180.0, "Delta");
+        Flight late = new Flight("FL004", "NYC", "LAX", morning.plusHours(10), morning.plusHours(13), 10, 120.0, "Delta");
+        for (Flight flight : List.of(early, quick, slow, late)) {
+            searchEngine.addFlight(flight);
+        }
+        
+        assertEquals(List.of(early, quick), searchEngine.searchFlightsArrivingBy("NYC", "LAX", morning, morning.plusHours(12)));
+        assertEquals(List.of(quick), searchEngine.searchFlightsArrivingBy("NYC", "LAX", morning.plusMinutes(1), morning.plusHours(12)));
+        assertEquals(List.of(quick, late), searchEngine.searchFlightsDepartingBetween("NYC", "LAX",
+            morning, morning.plusHours(12), Duration.ofHours(3)));
+        assertTrue(searchEngine.searchFlightsDepartingBetween("NYC", "LAX",
+            morning, morning.plusHours(12), Duration.ofMinutes(90)).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Departure Window - Matches Linear Scan Across Days")
+    void testSearchFlightsDepartingBetween_MatchesScan() {
+        Random random = new Random(18);
+        List<Flight> all = new ArrayList<>();
+        LocalDateTime start = baseDate.toLocalDate().atStartOfDay();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime departure = start.plusMinutes(random.nextInt(5 * 24 * 60));
+            Flight flight = new Flight("W" + i, "NYC", "LAX", departure,
+                departure.plusMinutes(60 + random.nextInt(10 * 60)), 1 + random.nextInt(3), 100.0, "Delta");
+            searchEngine.addFlight(flight);
+            all.add(flight);
+        }
+        for (int i = 0; i < 300; i++) {
+            all.get(random.nextInt(all.size())).bookSeats(1);
+        }
+        all.sort(Comparator.comparing(Flight::getDepartureTime).thenComparing(Flight::getFlightId));
+        
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = start.plusMinutes(random.nextInt(5 * 24 * 60));
+            LocalDateTime to = from.plusMinutes(random.nextInt(30 * 60));
+            Duration maxDuration = Duration.ofMinutes(60 + random.nextInt(10 * 60));
+            List<Flight> expectedWindow = new ArrayList<>();
+            List<Flight> expectedArrival = new ArrayList<>();
+            for (Flight flight : all) {
+                if (flight.getAvailableSeats() == 0 || flight.getDepartureTime().isBefore(from)) {
+                    continue;
+                }
+                if (!flight.getDepartureTime().isAfter(to) && flight.getFlightDuration() <= maxDuration.toMinutes()) {
+                    expectedWindow.add(flight);
+                }
+                if (!flight.getArrivalTime().isAfter(to)) {
+                    expectedArrival.add(flight);
+                }
+            }
+            
+            assertEquals(expectedWindow, searchEngine.searchFlightsDepartingBetween("NYC", "LAX", from, to, maxDuration));
+            assertEquals(expectedArrival, searchEngine.searchFlightsArrivingBy("NYC", "LAX", from, to));
+        }
+    }
+    
+    @Test
+    @DisplayName("Departure Window - Invalid Windows Rejected")
+    void testSearchFlightsDepartingBetween_Invalid() {
+        assertEquals("Start time cannot be after end time", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsDepartingBetween("NYC", "LAX", baseDate, baseDate.minusMinutes(1))).getMessage());
+        assertEquals("Travel date cannot be null", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsArrivingBy("NYC", "LAX", baseDate, null)).getMessage());
+        assertEquals("Max duration must be positive", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsDepartingBetween("NYC", "LAX", baseDate, baseDate, Duration.ZERO)).getMessage());
+        assertTrue(searchEngine.searchFlightsDepartingBetween("NYC", "LAX", baseDate, baseDate.plusDays(1)).isEmpty());
+    }
+    
+    // ==================== PARALLEL SEARCH TESTS ====================
+    
+    @Test
+    @DisplayName("Parallel Search - Same Results As Sequential")
+    void testFindFlights_ParallelMatchesSequential() {
+        Random random = new Random(19);
+        String[] cities = {"NYC", "LAX", "SFO", "MIA"};
+        for (int i = 0; i < 40_000; i++) {
+            int source = random.nextInt(4);
+            searchEngine.addFlight(createFlight("P" + i, cities[source], cities[(source + 1 + random.nextInt(3)) % 4],
+                baseDate.plusMinutes(random.nextInt(40 * 24 * 60)), 1 + random.nextInt(5), 50 + random.nextInt(500), "Delta"));
+        }
+        Predicate<Flight> analytics = f -> f.getPricePerSeat() < 200 && f.getDepartureTime().getHour() < 12;
+        List<Flight> sequential = searchEngine.findFlights(analytics);
+        List<Flight> hubSequential = searchEngine.searchFlightsFrom("NYC", baseDate.toLocalDate(), baseDate.toLocalDate().plusDays(29));
+        
+        searchEngine.enableParallelSearch(4, 0);
+        try {
+            assertEquals(4, searchEngine.getSearchParallelism());
+            assertEquals(sequential, searchEngine.findFlights(analytics));
+            assertEquals(hubSequential, searchEngine.searchFlightsFrom("nyc", baseDate.toLocalDate(), baseDate.toLocalDate().plusDays(29)));
+        } finally {
+            searchEngine.disableParallelSearch();
+        }
+        assertEquals(1, searchEngine.getSearchParallelism());
+        assertFalse(sequential.isEmpty());
+        assertTrue(hubSequential.stream().allMatch(f -> f.getSourceCity().equals("NYC") && f.getAvailableSeats() > 0
+            && f.getDepartureTime().isBefore(baseDate.toLocalDate().plusDays(30).atStartOfDay())));
+    }
+    
+    @Test
+    @DisplayName("Hub Search - Every Destination Within The Date Range")
+    void testSearchFlightsFrom_Hub() {
+        Flight toLax = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        Flight toSfo = createFlight("FL002", "NYC", "SFO", baseDate.plusDays(2), 10, 200.0, "Delta");
+        Flight soldOut = createFlight("FL003", "NYC", "MIA", baseDate, 10, 200.0, "Delta");
+        Flight tooLate = createFlight("FL004", "NYC", "LAX", baseDate.plusDays(3), 10, 200.0, "Delta");
+        Flight inbound = createFlight("FL005", "LAX", "NYC", baseDate, 10, 200.0, "Delta");
+        for (Flight flight : List.of(toLax, toSfo, soldOut, tooLate, inbound)) {
+            searchEngine.addFlight(flight);
+        }
+        soldOut.bookSeats(10);
+        
+        List<Flight> results = searchEngine.searchFlightsFrom("NYC", baseDate.toLocalDate(), baseDate.toLocalDate().plusDays(2));
+        
+        assertEquals(2, results.size());
+        assertTrue(results.containsAll(List.of(toLax, toSfo)));
+        assertTrue(searchEngine.searchFlightsFrom("Nowhere Hub City", baseDate.toLocalDate(), baseDate.toLocalDate()).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Parallel Search - Invalid Configuration Rejected")
+    void testEnableParallelSearch_Invalid() {
+        assertEquals("Parallelism must be positive", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.enableParallelSearch(0)).getMessage());
+        assertEquals("Sequential threshold cannot be negative", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.enableParallelSearch(2, -1)).getMessage());
+        assertEquals("Predicate cannot be null", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.findFlights(null)).getMessage());
+        assertEquals("Start date cannot be after end date", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsFrom("NYC", baseDate.toLocalDate(), baseDate.toLocalDate().minusDays(1))).getMessage());
+    }
+    
+    // ==================== PAGINATION TESTS ====================
+    
+    @Test
+    @DisplayName("Pagination - Pages Concatenate To The Full Window")
+    void testSearchFlightsPage_WalksWindow() {
+        Random random = new Random(20);
+        LocalDateTime start = baseDate.toLocalDate().atStartOfDay();
+        for (int i = 0; i < 500; i++) {
+            // coarse departures so many flights share a departure time
+            Flight flight = createFlight("PG" + random.nextInt(100_000) + "-" + i, "NYC", "LAX",
+                start.plusHours(random.nextInt(4 * 24)), 1 + random.nextInt(2), 100.0, "Delta");
+            searchEngine.addFlight(flight);
+            if (random.nextInt(5) == 0) {
+                flight.bookSeats(flight.getTotalSeats());
+            }
+        }
+        LocalDateTime from = start.plusHours(13);
+        LocalDateTime to = start.plusDays(3).plusHours(2);
+        List<Flight> expected = searchEngine.searchFlightsDepartingBetween("NYC", "LAX", from, to);
+        
+        List<Flight> paged = new ArrayList<>();
+        SearchCursor cursor = null;
+        int pages = 0;
+        do {
+            SearchPage page = searchEngine.searchFlightsPage("NYC", "LAX", from, to, cursor, 20);
+            assertTrue(page.getFlights().size() <= 20);
+            paged.addAll(page.getFlights());
+            // round-trip the cursor the way an API client would
+            cursor = page.hasNextPage() ? SearchCursor.decode(page.getNextCursor().encode()) : null;
+            pages++;
+        } while (cursor != null);
+        
+        assertEquals(expected, paged);
+        assertEquals((expected.size() + 19) / 20, pages);
+        for (int i = 1; i < paged.size(); i++) {
+            Flight previous = paged.get(i - 1);
+            Flight current = paged.get(i);
+            assertTrue(previous.getDepartureTime().isBefore(current.getDepartureTime())
+                || (previous.getDepartureTime().equals(current.getDepartureTime())
+                    && previous.getFlightId().compareTo(current.getFlightId()) < 0));
+        }
+    }
+    
+    @Test
+    @DisplayName("Pagination - Cursor Stable When Flights Are Added")
+    void testSearchFlightsPage_StableCursor() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        Flight flight3 = createFlight("FL003", "NYC", "LAX", baseDate.plusHours(1), 10, 200.0, "Delta");
+        for (Flight flight : List.of(flight3, flight2, flight1)) {
+            searchEngine.addFlight(flight);
+        }
+        
+        SearchPage first = searchEngine.searchFlightsPage("NYC", "LAX", baseDate, baseDate.plusDays(1), null, 1);
+        assertEquals(List.of(flight1), first.getFlights());
+        assertEquals(new SearchCursor(baseDate, "FL001"), first.getNextCursor());
+        
+        Flight earlier = createFlight("FL000", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        Flight tied = createFlight("FL0015", "NYC", "LAX", baseDate, 10, 200.0, "Delta");
+        searchEngine.addFlight(earlier);
+        searchEngine.addFlight(tied);
+        
+        SearchPage second = searchEngine.searchFlightsPage("NYC", "LAX", baseDate, baseDate.plusDays(1), first.getNextCursor(), 10);
+        assertEquals(List.of(tied, flight2, flight3), second.getFlights());
+        assertFalse(second.hasNextPage());
+    }
+    
+    @Test
+    @DisplayName("Streaming - Stops Early And Streams By Price")
+    void testStreamFlights_Lazy() {
+        Flight flight1 = createFlight("FL001", "NYC", "LAX", baseDate, 10, 300.0, "Delta");
+        Flight flight2 = createFlight("FL002", "NYC", "LAX", baseDate.plusHours(2), 10, 100.0, "Delta");
+        Flight flight3 = createFlight("FL003", "NYC", "LAX", baseDate.plusHours(25), 10, 200.0, "Delta");
+        Flight soldOut = createFlight("FL004", "NYC", "LAX", baseDate.plusHours(1), 10, 50.0, "Delta");
+        for (Flight flight : List.of(flight1, flight2, flight3, soldOut)) {
+            searchEngine.addFlight(flight);
+        }
+        soldOut.bookSeats(10);
+        
+        Iterator<Flight> iterator = searchEngine.iterateFlightsDepartingBetween("NYC", "LAX", baseDate, baseDate.plusDays(2));
+        assertEquals(flight1, iterator.next());
+        assertEquals(flight2, iterator.next());
+        assertEquals(flight3, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        
+        assertEquals(List.of(flight1, flight2), searchEngine.streamFlightsDepartingBetween("NYC", "LAX",
+            baseDate, baseDate.plusDays(2)).limit(2).collect(Collectors.toList()));
+        assertEquals(List.of(flight2, flight1), searchEngine.streamFlightsByPrice("NYC", "LAX", baseDate)
+            .collect(Collectors.toList()));
+        assertEquals(0, searchEngine.streamFlightsByPrice("NYC", "MIA", baseDate).count());
+    }
+    
+    @Test
+    @DisplayName("Pagination - Invalid Arguments Rejected")
+    void testSearchFlightsPage_Invalid() {
+        assertEquals("Page size must be positive", assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchFlightsPage("NYC", "LAX", baseDate, baseDate, null, 0)).getMessage());
+        assertEquals("Invalid cursor", assertThrows(IllegalArgumentException.class,
+            () -> SearchCursor.decode("not-a-cursor")).getMessage());
+        assertEquals("Invalid cursor", assertThrows(IllegalArgumentException.class,
+            () -> SearchCursor.decode("yesterday|FL001")).getMessage());
+        assertTrue(searchEngine.searchFlightsPage("NYC", "LAX", baseDate, baseDate.plusDays(1), null, 5).getFlights().isEmpty());
+    }
+    
+    
+    // ==================== LOWEST FARE TESTS ====================
+    
+    @Test
+    @DisplayName("Lowest Fares - Quotes Lowest Open Bucket per Flight, Cheapest First")
+    void testSearchLowestFares() {
+        Flight bucketed = createFlight("FL001", "NYC", "LAX", baseDate, 100, 500.0, "Delta");
+        bucketed.setFareBuckets(new FareBuckets()
+                .bucket("Y", 500.0, 100)
+                .bucket("M", 250.0, 40)
+                .bucket("Q", 150.0, 4));
+        Flight plain = createFlight("FL002", "NYC", "LAX", baseDate.plusHours(2), 100, 200.0, "United");
+        Flight soldOut = createFlight("FL003", "NYC", "LAX", baseDate.plusHours(4), 1, 100.0, "United");
+        soldOut.bookSeats(1);
+        searchEngine.addFlight(bucketed);
+        searchEngine.addFlight(plain);
+        searchEngine.addFlight(soldOut);
+        
+        List<FareQuote> quotes = searchEngine.searchLowestFares("NYC", "LAX", baseDate, 2);
+        assertEquals(List.of(new FareQuote(bucketed, "Q", 150.0), new FareQuote(plain, null, 200.0)), quotes);
+        
+        quotes = searchEngine.searchLowestFares("NYC", "LAX", baseDate, 5);
+        assertEquals(List.of(new FareQuote(plain, null, 200.0), new FareQuote(bucketed, "M", 250.0)), quotes);
+        
+        assertTrue(searchEngine.searchLowestFares("NYC", "LAX", baseDate.plusDays(1), 1).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> searchEngine.searchLowestFares("NYC", "LAX", baseDate, 0));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,450 @@
+package tests;
+
+import model.FareBuckets;
+import model.Flight;
+import model.NameDictionary;
+import model.NoShowModel;
+import model.SeatMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flight Seat Inventory Test Suite")
+public class FlightTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private LocalDateTime baseDate;
+
+    @BeforeEach
+    void setUp() {
+        baseDate = LocalDateTime.of(2025, 12, 15, 10, 0);
+    }
+
+    private Flight createFlight(int seats) {
+        return new Flight("FL001", "NYC", "LAX", baseDate, baseDate.plusHours(5), seats, 200.0, "Delta");
+    }
+
+    // ==================== BOOK / CANCEL SEATS TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Book Seats - Insufficient Seats Returns False")
+    void testBookSeats_Insufficient() {
+        Flight flight = createFlight(5);
+
+        assertTrue(flight.bookSeats(3));
+        assertFalse(flight.bookSeats(3));
+        assertEquals(2, flight.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Cancel Seats - More Than Booked Throws")
+    void testCancelSeats_MoreThanBooked() {
+        Flight flight = createFlight(5);
+        flight.bookSeats(2);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> flight.cancelSeats(3)
+        );
+        assertEquals("Cannot cancel more seats than booked", exception.getMessage());
+        assertEquals(3, flight.getAvailableSeats());
+    }
+
+    // ==================== CONCURRENCY STRESS TESTS ====================
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Stress - Concurrent Bookings Never Overbook")
+    void testConcurrentBookings_NoOverbooking() throws Exception {
+        int totalSeats = 10_000;
+        Flight flight = createFlight(totalSeats);
+        AtomicInteger booked = new AtomicInteger();
+
+        runConcurrently(() -> {
+            while (flight.bookSeats(1)) {
+                booked.incrementAndGet();
+            }
+        });
+
+        assertEquals(totalSeats, booked.get());
+        assertEquals(0, flight.getAvailableSeats());
+        assertTrue(flight.isFull());
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Stress - Concurrent Book and Cancel Keeps Inventory Consistent")
+    void testConcurrentBookAndCancel_Consistent() throws Exception {
+        int totalSeats = 50;
+        Flight flight = createFlight(totalSeats);
+        AtomicInteger violations = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                if (flight.bookSeats(2)) {
+                    int available = flight.getAvailableSeats();
+                    if (available < 0 || available > totalSeats) {
+                        violations.incrementAndGet();
+                    }
+                    flight.cancelSeats(2);
+                }
+            }
+        });
+
+        assertEquals(0, violations.get());
+        assertEquals(totalSeats, flight.getAvailableSeats());
+    }
+
+    // Runs the task on THREADS threads (scaled to the core count) released at the same instant
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    // ==================== NAME CODE TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Name Codes - Case Variants Share One Code")
+    void testNameCodes_CaseInsensitive() {
+        Flight upper = new Flight("FL001", "KARACHI", "Lahore", baseDate, baseDate.plusHours(2), 10, 100.0, "PIA");
+        Flight lower = new Flight("FL002", "karachi", "LAHORE", baseDate, baseDate.plusHours(2), 10, 100.0, "pia");
+
+        assertEquals(upper.getSourceCityCode(), lower.getSourceCityCode());
+        assertEquals(upper.getDestinationCityCode(), lower.getDestinationCityCode());
+        assertNotEquals(upper.getSourceCityCode(), upper.getDestinationCityCode());
+        assertEquals(upper.getAirlineCode(), lower.getAirlineCode());
+        assertEquals(upper.getSourceCityCode(), NameDictionary.CITIES.lookup("Karachi"));
+        assertEquals(NameDictionary.UNKNOWN, NameDictionary.CITIES.lookup("Never Interned City"));
+        assertEquals(NameDictionary.UNKNOWN, NameDictionary.CITIES.lookup(null));
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Name Codes - Folding Agrees With equalsIgnoreCase")
+    void testNameCodes_FoldMatchesEqualsIgnoreCase() {
+        Flight upper = new Flight("FL001", "IĞDIR", "Lahore", baseDate, baseDate.plusHours(2), 10, 100.0, "PIA");
+        Flight lower = new Flight("FL002", "Iğdır", "Lahore", baseDate, baseDate.plusHours(2), 10, 100.0, "PIA");
+
+        assertTrue("IĞDIR".equalsIgnoreCase("Iğdır"));
+        assertEquals(upper.getSourceCityCode(), lower.getSourceCityCode());
+        assertEquals(NameDictionary.fold("IĞDIR"), NameDictionary.fold("Iğdır"));
+        assertNotEquals(NameDictionary.fold("Karachi"), NameDictionary.fold("Lahore"));
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Name Codes - Concurrent Interning Assigns Distinct Codes")
+    void testNameCodes_ConcurrentIntern() throws Exception {
+        int names = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int[] codes = new int[names];
+                for (int i = 0; i < names; i++) {
+                    codes[i] = NameDictionary.CITIES.intern("Concurrent City " + i);
+                }
+                return codes;
+            }));
+        }
+        start.countDown();
+        int[] expected = futures.get(0).get();
+        for (Future<int[]> future : futures) {
+            assertArrayEquals(expected, future.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Set<Integer> distinct = new HashSet<>();
+        for (int code : expected) {
+            assertTrue(code >= 0 && code < NameDictionary.CITIES.size());
+            distinct.add(code);
+        }
+        assertEquals(names, distinct.size());
+    }
+    
+    
+    // ==================== FARE BUCKET TESTS ====================
+
+    private static FareBuckets createBuckets() {
+        return new FareBuckets()
+                .bucket("Y", 500.0, 100)
+                .bucket("B", 350.0, 60)
+                .bucket("M", 250.0, 30)
+                .bucket("Q", 150.0, 10);
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Buckets - Lower Bucket Sales Consume Higher Bucket Capacity")
+    void testFareBuckets_NestedAvailability() {
+        Flight flight = createFlight(100);
+        flight.setFareBuckets(createBuckets());
+
+        assertTrue(flight.bookSeats(10, "Q"));
+        assertFalse(flight.bookSeats(1, "Q"));
+        assertEquals(0, flight.getAvailableSeats("Q"));
+        assertEquals(20, flight.getAvailableSeats("M"));
+        assertEquals(50, flight.getAvailableSeats("B"));
+
+        assertTrue(flight.bookSeats(15, "B"));
+        // M still has 20 of its own limit left, but B's limit leaves room for 35 below it
+        assertEquals(20, flight.getAvailableSeats("M"));
+        assertEquals(35, flight.getAvailableSeats("B"));
+        assertEquals(75, flight.getAvailableSeats("Y"));
+        assertEquals(75, flight.getAvailableSeats());
+
+        flight.cancelSeats(5, "Q");
+        assertEquals(5, flight.getAvailableSeats("Q"));
+        assertEquals(5, flight.getFareBuckets().getSold("Q"));
+        assertEquals(80, flight.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Buckets - Lowest Open Bucket Tracks Closures")
+    void testFareBuckets_LowestOpenFareClass() {
+        Flight flight = createFlight(100);
+        flight.setFareBuckets(createBuckets());
+
+        assertEquals("Q", flight.getFareBuckets().getLowestOpenFareClass(10));
+        assertEquals("M", flight.getFareBuckets().getLowestOpenFareClass(11));
+        // B's limit of 60 now leaves 2 seats for B and every bucket below it
+        assertTrue(flight.bookSeats(58, "B"));
+        assertEquals("Q", flight.getFareBuckets().getLowestOpenFareClass(2));
+        assertEquals(2, flight.getAvailableSeats("M"));
+        assertEquals("Y", flight.getFareBuckets().getLowestOpenFareClass(3));
+        assertNull(flight.getFareBuckets().getLowestOpenFareClass(43));
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Buckets - Bookings Without Fare Class Sell in the Top Bucket")
+    void testFareBuckets_PlainBookingsUseTopBucket() {
+        Flight flight = createFlight(100);
+        flight.setFareBuckets(createBuckets());
+        assertTrue(flight.bookSeats(95));
+
+        assertEquals(95, flight.getFareBuckets().getSold("Y"));
+        assertEquals(5, flight.getAvailableSeats("Q"));
+        assertFalse(flight.bookSeats(6, "Q"));
+        assertEquals(0, flight.getFareBuckets().getSold("Q"));
+        assertTrue(flight.bookSeats(5, "Q"));
+        assertTrue(flight.isFull());
+
+        flight.cancelSeats(95);
+        assertEquals(0, flight.getFareBuckets().getSold("Y"));
+        assertEquals("Cannot cancel more seats than booked", assertThrows(IllegalArgumentException.class,
+            () -> flight.cancelSeats(1)).getMessage());
+        assertEquals(95, flight.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Buckets - Layout Frozen Once Attached")
+    void testFareBuckets_FrozenOnceAttached() {
+        Flight flight = createFlight(100);
+        FareBuckets buckets = createBuckets();
+        flight.setFareBuckets(buckets);
+
+        assertEquals("Fare buckets can no longer be changed", assertThrows(IllegalStateException.class,
+            () -> buckets.bucket("V", 100.0, 5)).getMessage());
+        assertEquals("Fare buckets are already attached to a flight", assertThrows(IllegalStateException.class,
+            () -> createFlight(100).setFareBuckets(buckets)).getMessage());
+
+        Flight sold = createFlight(100);
+        assertTrue(sold.bookSeats(1));
+        assertEquals("Fare buckets must be set before any sale", assertThrows(IllegalStateException.class,
+            () -> sold.setFareBuckets(createBuckets())).getMessage());
+        assertNull(sold.getFareBuckets());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Buckets - Invalid Layout Throws")
+    void testFareBuckets_InvalidLayout() {
+        Flight flight = createFlight(100);
+
+        assertEquals("Top bucket limit must match total seats", assertThrows(IllegalArgumentException.class,
+            () -> flight.setFareBuckets(new FareBuckets().bucket("Y", 500.0, 120))).getMessage());
+        assertEquals("Lower bucket cannot exceed the bucket above", assertThrows(IllegalArgumentException.class,
+            () -> new FareBuckets().bucket("Y", 500.0, 100).bucket("B", 550.0, 50)).getMessage());
+        assertEquals("Duplicate fare class: Y", assertThrows(IllegalArgumentException.class,
+            () -> new FareBuckets().bucket("Y", 500.0, 100).bucket("Y", 300.0, 50)).getMessage());
+        assertEquals("Fare buckets are full", assertThrows(IllegalStateException.class,
+            () -> createBuckets().bucket("V", 100.0, 5)).getMessage());
+        assertEquals("Flight has no fare buckets", assertThrows(IllegalStateException.class,
+            () -> flight.bookSeats(1, "Y")).getMessage());
+        flight.setFareBuckets(createBuckets());
+        assertEquals("Unknown fare class: Z", assertThrows(IllegalArgumentException.class,
+            () -> flight.bookSeats(1, "Z")).getMessage());
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Stress - Concurrent Bucket Sales Never Break Nested Limits")
+    void testFareBuckets_ConcurrentSales() throws Exception {
+        Flight flight = createFlight(100);
+        flight.setFareBuckets(createBuckets());
+        String[] fareClasses = {"Q", "M", "B", "Y"};
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(() -> {
+            String fareClass = fareClasses[next.getAndIncrement() % fareClasses.length];
+            while (flight.bookSeats(1, fareClass)) {
+                // keep selling until the bucket closes
+            }
+        });
+
+        FareBuckets buckets = flight.getFareBuckets();
+        int q = buckets.getSold("Q");
+        int m = buckets.getSold("M");
+        int b = buckets.getSold("B");
+        int y = buckets.getSold("Y");
+        assertTrue(q <= 10);
+        assertTrue(q + m <= 30);
+        assertTrue(q + m + b <= 60);
+        assertEquals(100, q + m + b + y);
+        assertTrue(flight.isFull());
+    }
+    
+
+    // ==================== OVERBOOKING TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("No-Show Model - Booking Capacity From No-Show Rate and Risk")
+    void testNoShowModel_BookingCapacity() {
+        // 105 booked at a 90% show rate: 94.5 expected, 99.56 at the 95th percentile; 106 would exceed 100
+        assertEquals(105, new NoShowModel(0.10, 0.05).getBookingCapacity(100));
+        assertEquals(100, new NoShowModel(0.0, 0.05).getBookingCapacity(100));
+        assertTrue(new NoShowModel(0.10, 0.01).getBookingCapacity(100) < 105);
+        assertTrue(new NoShowModel(0.20, 0.05).getBookingCapacity(100) > 105);
+
+        assertThrows(IllegalArgumentException.class, () -> new NoShowModel(1.0, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> new NoShowModel(-0.1, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> new NoShowModel(0.1, 0.0));
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Overbooking - Sales Stop at Booking Capacity")
+    void testOverbooking_StopsAtCapacity() {
+        Flight flight = createFlight(100);
+        List<Integer> changes = new ArrayList<>();
+        flight.addSeatListener((f, previous, current) -> changes.add(current));
+        flight.setNoShowModel(new NoShowModel(0.10, 0.05));
+
+        assertEquals(List.of(105), changes);
+        assertEquals(105, flight.getBookingCapacity());
+        assertEquals(105, flight.getAvailableSeats());
+        assertTrue(flight.bookSeats(103));
+        assertFalse(flight.bookSeats(3));
+        assertTrue(flight.bookSeats(2));
+        assertTrue(flight.isFull());
+        assertEquals(105, flight.getBookedSeats());
+        assertEquals(5, flight.getOverbookedSeats());
+
+        flight.cancelSeats(10);
+        assertEquals(10, flight.getAvailableSeats());
+        assertEquals(0, flight.getOverbookedSeats());
+        assertThrows(IllegalArgumentException.class, () -> flight.cancelSeats(96));
+
+        flight.setNoShowModel(null);
+        assertEquals(5, flight.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Overbooking - Not Combined With Fare Buckets")
+    void testOverbooking_RejectedWithFareBuckets() {
+        Flight bucketed = createFlight(100);
+        bucketed.setFareBuckets(createBuckets());
+        assertEquals("Overbooking is not supported with fare buckets", assertThrows(IllegalStateException.class,
+            () -> bucketed.setNoShowModel(new NoShowModel(0.10, 0.05))).getMessage());
+        assertEquals(100, bucketed.getBookingCapacity());
+        bucketed.setNoShowModel(null);
+
+        Flight overbooked = createFlight(100);
+        overbooked.setNoShowModel(new NoShowModel(0.10, 0.05));
+        assertEquals("Overbooking is not supported with fare buckets", assertThrows(IllegalStateException.class,
+            () -> overbooked.setFareBuckets(createBuckets())).getMessage());
+        assertNull(overbooked.getFareBuckets());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Overbooking - Not Combined With a Seat Map")
+    void testOverbooking_RejectedWithSeatMap() {
+        Flight seated = createFlight(100);
+        seated.setSeatMap(new SeatMap(20, 5));
+        assertEquals("Overbooking is not supported with a seat map", assertThrows(IllegalStateException.class,
+            () -> seated.setNoShowModel(new NoShowModel(0.10, 0.05))).getMessage());
+        assertEquals(100, seated.getAvailableSeats());
+
+        Flight overbooked = createFlight(100);
+        overbooked.setNoShowModel(new NoShowModel(0.10, 0.05));
+        assertEquals("Overbooking is not supported with a seat map", assertThrows(IllegalStateException.class,
+            () -> overbooked.setSeatMap(new SeatMap(20, 5))).getMessage());
+        assertNull(overbooked.getSeatMap());
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Stress - Concurrent Bookings Never Exceed Booking Capacity")
+    void testOverbooking_Concurrent() throws Exception {
+        Flight flight = createFlight(1_000);
+        flight.setNoShowModel(new NoShowModel(0.08, 0.02));
+        int capacity = flight.getBookingCapacity();
+        AtomicInteger booked = new AtomicInteger();
+
+        runConcurrently(() -> {
+            while (flight.bookSeats(1)) {
+                booked.incrementAndGet();
+            }
+        });
+
+        assertTrue(capacity > 1_000);
+        assertEquals(capacity, booked.get());
+        assertEquals(capacity - 1_000, flight.getOverbookedSeats());
+        assertTrue(flight.isFull());
+    }
+}
\ No newline at end of file
@@ -10,7 +10,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -629,4 +636,173 @@ public class PaymentProcessorTest {
         // Revenue should be zero after refund
         assertEquals(0.0, paymentProcessor.getTotalRevenue());
     }
+    
+    // ==================== CONCURRENCY TESTS ====================
+    
+    @Test
+    @DisplayName("Concurrency - Parallel Payments Get Unique IDs and Stay Indexed")
+    void testConcurrentPayments_UniqueIdsAndIndexed() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int paymentsPerThread = 200;
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String reservationId = "RES" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < paymentsPerThread; i++) {
+                        paymentProcessor.processPayment(reservationId, 100.0, "4532015112830366", "123", "12/26");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(threads * paymentsPerThread, paymentProcessor.getTotalPayments());
+        for (int t = 0; t < threads; t++) {
+            List<Payment> payments = paymentProcessor.getPaymentsByReservation("RES" + t);
+            assertEquals(paymentsPerThread, payments.size());
+            for (Payment payment : payments) {
+                assertSame(payment, paymentProcessor.findPaymentById(payment.getPaymentId()));
+            }
+        }
+    }
+    
+    // ==================== RUNNING STATISTICS TESTS ====================
+    
+    @Test
+    @DisplayName("Statistics - Revenue Summed in Exact Minor Units")
+    void testGetTotalRevenue_NoFloatingPointDrift() {
+        for (int i = 0; i < 10; i++) {
+            paymentProcessor.processPayment("RES" + i, 0.1, "4532015112830366", "123", "12/26");
+        }
+        
+        assertEquals(1.0, paymentProcessor.getTotalRevenue());
+    }
+    
+    @Test
+    @DisplayName("Statistics - Counters Follow Status Transitions")
+    void testStatistics_FollowStatusTransitions() {
+        Payment payment1 = paymentProcessor.processPayment("RES001", 1000.0, "4532015112830366", "123", "12/26");
+        Payment payment2 = paymentProcessor.processPayment("RES002", 2000.0, "4532015112830366", "123", "12/26");
+        Payment payment3 = paymentProcessor.processPayment("RES003", 3000.0, "4532015112830366", "123", "12/26");
+        
+        payment2.failPayment();
+        paymentProcessor.refundPayment(payment3.getPaymentId());
+        
+        assertEquals(1, paymentProcessor.getSuccessfulPayments());
+        assertEquals(1, paymentProcessor.getFailedPayments());
+        assertEquals(1000.0, paymentProcessor.getTotalRevenue());
+        
+        // A failed payment that is retried successfully moves back into revenue
+        payment2.processPayment();
+        
+        assertEquals(2, paymentProcessor.getSuccessfulPayments());
+        assertEquals(0, paymentProcessor.getFailedPayments());
+        assertEquals(3000.0, paymentProcessor.getTotalRevenue());
+        assertEquals("SUCCESS", payment1.getStatus());
+    }
+    
+    @Test
+    @DisplayName("Statistics - Consistent Under Concurrent Refunds")
+    void testStatistics_ConcurrentRefunds() throws Exception {
+        int count = 2000;
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            payments.add(paymentProcessor.processPayment("RES" + i, 12.34, "4532015112830366", "123", "12/26"));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i += 2) {
+                String paymentId = payments.get(i).getPaymentId();
+                futures.add(executor.submit(() -> paymentProcessor.refundPayment(paymentId)));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(count / 2, paymentProcessor.getSuccessfulPayments());
+        assertEquals(12340.0, paymentProcessor.getTotalRevenue());
+    }
+    
+    // ==================== SINGLE-PASS VALIDATOR TESTS ====================
+    
+    @Test
+    @DisplayName("Validator - Card Number With Separators Is Masked")
+    void testProcessPayment_CardWithSeparatorsMasked() {
+        Payment payment = paymentProcessor.processPayment(
+            "RES001", 100.0, "4532-0151 1283-0366", "123", "12/26"
+        );
+        
+        assertEquals("4532****0366", payment.getCardNumber());
+    }
+    
+    @Test
+    @DisplayName("Validator - Matches Regex Reference Implementation")
+    void testValidators_MatchReferenceImplementation() {
+        Random random = new Random(42);
+        String alphabet = "0123456789 -/a";
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder candidate = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                candidate.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String value = candidate.toString();
+            
+            assertEquals(referenceIsValidCardNumber(value), Payment.isValidCardNumber(value), value);
+            assertEquals(value.matches("^\\d{3,4}$"), Payment.isValidCVV(value), value);
+        }
+        for (int month = 0; month <= 13; month++) {
+            for (int year = 0; year <= 99; year++) {
+                String expiry = String.format("%02d/%02d", month, year);
+                assertEquals(referenceIsValidExpiryDate(expiry), Payment.isValidExpiryDate(expiry), expiry);
+            }
+        }
+    }
+    
+    // Previous regex-based implementations, kept as the behavioral reference
+    private static boolean referenceIsValidCardNumber(String cardNumber) {
+        if (cardNumber.trim().isEmpty()) {
+            return false;
+        }
+        String digits = cardNumber.replaceAll("\\D", "");
+        if (digits.length() < 13 || digits.length() > 19) {
+            return false;
+        }
+        int sum = 0;
+        boolean alternate = false;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = Character.getNumericValue(digits.charAt(i));
+            if (alternate) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit = (digit / 10) + (digit % 10);
+                }
+            }
+            sum += digit;
+            alternate = !alternate;
+        }
+        return (sum % 10) == 0;
+    }
+    
+    private static boolean referenceIsValidExpiryDate(String expiryDate) {
+        if (!expiryDate.matches("^(0[1-9]|1[0-2])/\\d{2}$")) {
+            return false;
+        }
+        String[] parts = expiryDate.split("/");
+        YearMonth cardExpiry = YearMonth.of(Integer.parseInt(parts[1]) + 2000, Integer.parseInt(parts[0]));
+        return cardExpiry.compareTo(YearMonth.now()) >= 0;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package tests;
 
+import model.FareBuckets;
 import model.Flight;
+import model.NoShowModel;
 import model.Passenger;
 import model.Reservation;
+import model.SeatMap;
 import service.ReservationManager;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +16,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -998,4 +1014,763 @@ public class ReservationManagerTest {
         assertEquals(num1 + 1, num2);
         assertEquals(num2 + 1, num3);
     }
+    
+    // ==================== CONCURRENCY TESTS ====================
+    
+    @Test
+    @Tag("slow")
+    @DisplayName("Concurrency - Parallel Bookings Get Unique IDs and Never Overbook")
+    void testConcurrentBookings_UniqueIdsNoOverbooking() throws Exception {
+        Flight popular = createFlight("FL900", "NYC", "LAX", 500, 200.0);
+        Flight other = createFlight("FL901", "NYC", "SFO", 500, 150.0);
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int bookingsPerThread = 100;
+        Set<String> reservationIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger confirmedOnPopular = new AtomicInteger();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int threadNo = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < bookingsPerThread; i++) {
+                        Flight flight = (i % 2 == 0) ? popular : other;
+                        Reservation reservation;
+                        try {
+                            reservation = reservationManager.createReservation(flight);
+                        } catch (IllegalStateException soldOut) {
+                            continue;
+                        }
+                        reservationIds.add(reservation.getReservationId());
+                        reservationManager.addPassengerToReservation(reservation,
+                            createPassenger("P" + threadNo + "-" + i, "John", "Doe", "john@example.com", "1234567890", 30));
+                        if (reservationManager.confirmReservation(reservation, "PAY" + threadNo + "-" + i)
+                                && flight == popular) {
+                            confirmedOnPopular.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(reservationIds.size(), reservationManager.getTotalReservations());
+        assertEquals(500 - confirmedOnPopular.get(), popular.getAvailableSeats());
+        assertTrue(popular.getAvailableSeats() >= 0);
+        assertTrue(other.getAvailableSeats() >= 0);
+    }
+    
+    @Test
+    @Tag("slow")
+    @DisplayName("Concurrency - Racing Cancellations Release Seats Once")
+    void testConcurrentCancellation_ReleasesSeatsOnce() throws Exception {
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.confirmReservation(reservation, "PAY001");
+        
+        int threads = 8;
+        AtomicInteger cancelled = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        if (reservationManager.cancelReservation(reservation.getReservationId())) {
+                            cancelled.incrementAndGet();
+                        }
+                    } catch (IllegalStateException alreadyCancelled) {
+                        // expected for every thread but the winner
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(1, cancelled.get());
+        assertEquals(100, testFlight.getAvailableSeats());
+        assertEquals("CANCELLED", reservation.getStatus());
+    }
+    
+    // ==================== PASSENGER INDEX TESTS ====================
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Passenger Index - Tracks Added and Removed Passengers")
+    void testGetReservationsByPassenger_TracksAddAndRemove() {
+        Reservation res1 = reservationManager.createReservation(testFlight);
+        Reservation res2 = reservationManager.createReservation(testFlight);
+        Passenger john = createPassenger("P123456", "John", "Doe", "John@Example.com", "1234567890", 30);
+        Passenger jane = createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28);
+        
+        reservationManager.addPassengerToReservation(res2, john);
+        reservationManager.addPassengerToReservation(res1, john);
+        reservationManager.addPassengerToReservation(res1, jane);
+        
+        assertEquals(List.of(res1, res2), reservationManager.getReservationsByPassenger("john@example.com"));
+        assertEquals(List.of(res1), reservationManager.getReservationsByPassenger("JANE@example.com"));
+        
+        reservationManager.removePassengerFromReservation(res1, john);
+        
+        assertEquals(List.of(res2), reservationManager.getReservationsByPassenger("john@example.com"));
+        assertEquals(List.of(res1), reservationManager.getReservationsByPassenger("jane@example.com"));
+        
+        reservationManager.removePassengerFromReservation(res2, john);
+        
+        assertTrue(reservationManager.getReservationsByPassenger("john@example.com").isEmpty());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Passenger Index - Shared Email Kept Until Last Passenger Removed")
+    void testGetReservationsByPassenger_SharedEmail() {
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        Passenger parent = createPassenger("P123456", "John", "Doe", "family@example.com", "1234567890", 40);
+        Passenger child = createPassenger("P123457", "Jimmy", "Doe", "FAMILY@example.com", "1234567890", 8);
+        
+        reservationManager.addPassengerToReservation(reservation, parent);
+        reservationManager.addPassengerToReservation(reservation, child);
+        reservationManager.removePassengerFromReservation(reservation, parent);
+        
+        assertEquals(List.of(reservation), reservationManager.getReservationsByPassenger("family@example.com"));
+        assertSame(reservation, reservationManager.findReservationById(reservation.getReservationId()));
+    }
+    
+    // ==================== STATUS HISTOGRAM TESTS ====================
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Status Histogram - Follows Confirm and Cancel")
+    void testGetStatusHistogram_FollowsTransitions() {
+        Reservation res1 = reservationManager.createReservation(testFlight);
+        Reservation res2 = reservationManager.createReservation(testFlight);
+        reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(res1,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(res2,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertEquals(Map.of("PENDING", 3, "CONFIRMED", 0, "CANCELLED", 0), reservationManager.getStatusHistogram());
+        
+        reservationManager.confirmReservation(res1, "PAY001");
+        reservationManager.confirmReservation(res2, "PAY002");
+        reservationManager.cancelReservation(res1.getReservationId());
+        
+        assertEquals(Map.of("PENDING", 1, "CONFIRMED", 1, "CANCELLED", 1), reservationManager.getStatusHistogram());
+        assertEquals(List.of("PENDING", "CONFIRMED", "CANCELLED"),
+            new ArrayList<>(reservationManager.getStatusHistogram().keySet()));
+        assertEquals(1, reservationManager.getConfirmedReservations());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Status Histogram - Failed Confirmation Stays Pending")
+    void testGetStatusHistogram_FailedConfirmation() {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 1, 150.0);
+        Reservation reservation = reservationManager.createReservation(smallFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertFalse(reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals(Map.of("PENDING", 1, "CONFIRMED", 0, "CANCELLED", 0), reservationManager.getStatusHistogram());
+    }
+    
+    
+    // ==================== SEAT ASSIGNMENT TESTS ====================
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Map - Confirmation Seats Group Together and Cancellation Frees Them")
+    void testConfirmReservation_AssignsAdjacentSeats() {
+        testFlight = createFlight("FL010", "NYC", "LAX", 12, 200.0);
+        testFlight.setSeatMap(new SeatMap(2, 6));
+        testFlight.getSeatMap().allocate(List.of("1B"));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertTrue(reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals(Map.of("P123456", "1C", "P789012", "1D"), reservation.getSeatAssignments());
+        
+        assertTrue(reservationManager.cancelReservation(reservation.getReservationId()));
+        assertTrue(reservation.getSeatAssignments().isEmpty());
+        assertEquals(11, testFlight.getSeatMap().getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Map - Taken Requested Seat Fails Without Booking")
+    void testConfirmReservation_RequestedSeatTaken() {
+        testFlight = createFlight("FL010", "NYC", "LAX", 12, 200.0);
+        testFlight.setSeatMap(new SeatMap(2, 6));
+        testFlight.getSeatMap().allocate(List.of("2F"));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertFalse(reservationManager.confirmReservation(reservation, "PAY001", List.of("2E", "2F")));
+        assertEquals("PENDING", reservation.getStatus());
+        assertEquals(12, testFlight.getAvailableSeats());
+        assertTrue(testFlight.getSeatMap().isAvailable("2E"));
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.confirmReservation(reservation, "PAY001", List.of("2E")));
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.confirmReservation(reservation, "PAY001", List.of("2E", "9Z")));
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.confirmReservation(reservation, "PAY001", List.of("2E", "2E")));
+        assertEquals(12, testFlight.getAvailableSeats());
+        assertTrue(testFlight.getSeatMap().isAvailable("2E"));
+        assertTrue(reservationManager.confirmReservation(reservation, "PAY001", List.of("2D", "2E")));
+        assertEquals(List.of("2D", "2E"), new ArrayList<>(reservation.getSeatAssignments().values()));
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Map - Capacity Must Match Total Seats")
+    void testSetSeatMap_CapacityMismatch() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> testFlight.setSeatMap(new SeatMap(10, 6)));
+        assertEquals("Seat map capacity must match total seats", exception.getMessage());
+    }
+    
+    
+    // ==================== SEAT HOLD TESTS ====================
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Pending Reservation Holds Seats Until TTL Expires")
+    void testSeatHold_ExpiresAfterTtl() {
+        reservationManager.enableSeatHolds(Duration.ofMinutes(15), Duration.ofSeconds(1));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertEquals(98, testFlight.getAvailableSeats());
+        assertEquals(2, reservationManager.getHeldSeats());
+        assertEquals(0, reservationManager.advanceHoldClock(899));
+        assertEquals(1, reservationManager.advanceHoldClock(1));
+        
+        assertEquals(100, testFlight.getAvailableSeats());
+        assertEquals("CANCELLED", reservation.getStatus());
+        assertEquals(0, reservationManager.getActiveHoldCount());
+        assertEquals(Map.of("PENDING", 0, "CONFIRMED", 0, "CANCELLED", 1), reservationManager.getStatusHistogram());
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals("Seat hold has expired", exception.getMessage());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Confirmation Takes Over Held Seats")
+    void testSeatHold_ConfirmKeepsSeats() {
+        reservationManager.enableSeatHolds(Duration.ofMinutes(15), Duration.ofSeconds(1));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        Passenger john = createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30);
+        reservationManager.addPassengerToReservation(reservation, john);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        reservationManager.removePassengerFromReservation(reservation, john);
+        assertEquals(99, testFlight.getAvailableSeats());
+        
+        assertTrue(reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals(99, testFlight.getAvailableSeats());
+        assertEquals(0, reservationManager.advanceHoldClock(3600));
+        assertEquals("CONFIRMED", reservation.getStatus());
+        assertEquals(99, testFlight.getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Held Seats Are Not Available to Others")
+    void testSeatHold_BlocksOtherReservations() {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 1, 150.0);
+        reservationManager.enableSeatHolds(Duration.ofMinutes(10), Duration.ofMinutes(1));
+        Reservation first = reservationManager.createReservation(smallFlight);
+        Reservation second = reservationManager.createReservation(smallFlight);
+        reservationManager.addPassengerToReservation(first,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.addPassengerToReservation(second,
+                createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28)));
+        assertEquals("No available seats on this flight", exception.getMessage());
+        
+        assertEquals(2, reservationManager.advanceHoldClock(10));
+        assertEquals(1, smallFlight.getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Holds Longer Than One Wheel Rotation Expire on Time")
+    void testSeatHold_ManyHoldsAcrossRotations() {
+        Flight bigFlight = createFlight("FL003", "NYC", "BOS", 5000, 120.0);
+        reservationManager.enableSeatHolds(Duration.ofSeconds(100), Duration.ofSeconds(1), 8);
+        for (int i = 0; i < 1000; i++) {
+            Reservation reservation = reservationManager.createReservation(bigFlight);
+            reservationManager.addPassengerToReservation(reservation,
+                createPassenger("P" + (100000 + i), "John", "Doe", "john" + i + "@example.com", "1234567890", 30));
+            if (i % 10 == 9 && i < 999) {
+                reservationManager.advanceHoldClock(1);
+            }
+        }
+        assertEquals(4000, bigFlight.getAvailableSeats());
+        
+        // ten reservations were created per tick, the first ten at tick 0, so they expire at tick 100
+        assertEquals(0, reservationManager.advanceHoldClock(0));
+        assertEquals(10, reservationManager.advanceHoldClock(1));
+        assertEquals(990, reservationManager.getActiveHoldCount());
+        assertEquals(990, reservationManager.advanceHoldClock(99));
+        assertEquals(5000, bigFlight.getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Invalid Configuration Throws")
+    void testEnableSeatHolds_Invalid() {
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.enableSeatHolds(Duration.ZERO, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.enableSeatHolds(Duration.ofMinutes(1), Duration.ofSeconds(-1)));
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.advanceHoldClock(1));
+        assertEquals("Seat holds are not enabled", exception.getMessage());
+    }
+    
+    
+    @Test
+    @Tag("slow")
+    @DisplayName("Seat Hold - Background Timer Releases Expired Holds")
+    void testSeatHold_TimerExpires() throws InterruptedException {
+        reservationManager.enableSeatHolds(Duration.ofMillis(50), Duration.ofMillis(10));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        
+        reservationManager.startHoldTimer();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (reservationManager.getActiveHoldCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            reservationManager.stopHoldTimer();
+        }
+        assertEquals("CANCELLED", reservation.getStatus());
+        assertEquals(100, testFlight.getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Seat Hold - Failed Release Does Not Keep Other Holds")
+    void testSeatHold_FailedReleaseReleasesOthers() {
+        reservationManager.enableSeatHolds(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        Flight failing = failingCancelFlight(new AtomicInteger(1));
+        Reservation broken = reservationManager.createReservation(failing);
+        reservationManager.addPassengerToReservation(broken,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        Reservation healthy = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(healthy,
+            createPassenger("P234567", "Jane", "Doe", "jane@example.com", "1234567890", 30));
+        
+        assertThrows(IllegalStateException.class, () -> reservationManager.advanceHoldClock(10));
+        assertEquals("CANCELLED", healthy.getStatus());
+        assertEquals(100, testFlight.getAvailableSeats());
+        
+        // the failed hold keeps its seat until a later tick releases it
+        assertEquals("PENDING", broken.getStatus());
+        assertEquals(1, reservationManager.getActiveHoldCount());
+        assertEquals(99, broken.getFlight().getAvailableSeats());
+        assertEquals(1, reservationManager.advanceHoldClock(1));
+        assertEquals("CANCELLED", broken.getStatus());
+        assertEquals(100, broken.getFlight().getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("slow")
+    @DisplayName("Seat Hold - Background Timer Survives a Failed Tick")
+    void testSeatHold_TimerSurvivesFailure() throws InterruptedException {
+        reservationManager.enableSeatHolds(Duration.ofMillis(20), Duration.ofMillis(10));
+        AtomicInteger failures = new AtomicInteger(1);
+        Reservation broken = reservationManager.createReservation(failingCancelFlight(failures));
+        reservationManager.addPassengerToReservation(broken,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        
+        reservationManager.startHoldTimer();
+        try {
+            awaitCondition(() -> failures.get() == 0);
+            assertEquals(0, failures.get());
+            Reservation later = reservationManager.createReservation(testFlight);
+            reservationManager.addPassengerToReservation(later,
+                createPassenger("P234567", "Jane", "Doe", "jane@example.com", "1234567890", 30));
+            awaitCondition(() -> "CANCELLED".equals(later.getStatus()));
+            assertEquals("CANCELLED", later.getStatus());
+        } finally {
+            reservationManager.stopHoldTimer();
+        }
+        assertEquals(100, testFlight.getAvailableSeats());
+    }
+    
+    // Flight whose first cancellations throw, counting the given failures down
+    private Flight failingCancelFlight(AtomicInteger failures) {
+        LocalDateTime departure = baseDate;
+        return new Flight("FL099", "NYC", "LAX", departure, departure.plusHours(5), 100, 200.0, "Delta") {
+            @Override
+            public void cancelSeats(int numberOfSeats) {
+                if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new IllegalStateException("Cancellation failed");
+                }
+                super.cancelSeats(numberOfSeats);
+            }
+        };
+    }
+    
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Class - Reservation Priced and Booked in Its Bucket")
+    void testFareClassReservation() {
+        testFlight.setFareBuckets(new FareBuckets()
+                .bucket("Y", 200.0, 100)
+                .bucket("Q", 90.0, 2));
+        Reservation reservation = reservationManager.createReservation(testFlight, "Q");
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P789012", "Jane", "Smith", "jane@example.com", "0987654321", 28));
+        
+        assertEquals(180.0, reservation.getTotalPrice(), 0.001);
+        assertTrue(reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals(2, testFlight.getFareBuckets().getSold("Q"));
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.createReservation(testFlight, "Q"));
+        assertEquals("No available seats in fare class Q", exception.getMessage());
+        
+        assertTrue(reservationManager.cancelReservation(reservation.getReservationId()));
+        assertEquals(0, testFlight.getFareBuckets().getSold("Q"));
+        assertEquals(100, testFlight.getAvailableSeats());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Fare Class - Reservation Without Class Sells in the Top Bucket")
+    void testFareClassReservation_DefaultsToTopBucket() {
+        testFlight.setFareBuckets(new FareBuckets()
+                .bucket("Y", 250.0, 100)
+                .bucket("Q", 90.0, 2));
+        Reservation reservation = reservationManager.createReservation(testFlight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger("P123456", "John", "Doe", "john@example.com", "1234567890", 30));
+        
+        assertEquals("Y", reservation.getFareClass());
+        assertEquals(250.0, reservation.getTotalPrice(), 0.001);
+        assertTrue(reservationManager.confirmReservation(reservation, "PAY001"));
+        assertEquals(1, testFlight.getFareBuckets().getSold("Y"));
+        
+        assertTrue(reservationManager.cancelReservation(reservation.getReservationId()));
+        assertEquals(0, testFlight.getFareBuckets().getSold("Y"));
+    }
+    
+    
+    // ==================== WAITLIST TESTS ====================
+    
+    private Reservation pendingReservation(Flight flight, String passengerId) {
+        Reservation reservation = reservationManager.createReservation(flight);
+        reservationManager.addPassengerToReservation(reservation,
+            createPassenger(passengerId, "John", "Doe", passengerId + "@example.com", "1234567890", 30));
+        return reservation;
+    }
+    
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Waitlist - Cancellation Promotes Highest Tier, Then Earliest Request")
+    void testWaitlist_PromotionOrder() throws InterruptedException {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 2, 150.0);
+        Reservation first = pendingReservation(smallFlight, "P100001");
+        Reservation second = pendingReservation(smallFlight, "P100002");
+        Reservation basic = pendingReservation(smallFlight, "P100003");
+        Reservation gold = pendingReservation(smallFlight, "P100004");
+        Reservation laterGold = pendingReservation(smallFlight, "P100005");
+        assertTrue(reservationManager.confirmReservation(first, "PAY001"));
+        assertTrue(reservationManager.confirmReservation(second, "PAY002"));
+        assertFalse(reservationManager.confirmReservation(basic, "PAY003"));
+        
+        reservationManager.addToWaitlist(basic, "PAY003", 0);
+        reservationManager.addToWaitlist(gold, "PAY004", 2);
+        reservationManager.addToWaitlist(laterGold, "PAY005", 2);
+        assertEquals(3, reservationManager.getWaitlistSize(smallFlight));
+        
+        reservationManager.cancelReservation(first.getReservationId());
+        awaitCondition(() -> gold.isConfirmed());
+        assertEquals("CONFIRMED", gold.getStatus());
+        assertEquals("PAY004", gold.getPaymentId());
+        assertEquals("PENDING", laterGold.getStatus());
+        assertEquals("PENDING", basic.getStatus());
+        assertFalse(reservationManager.isWaitlisted(gold));
+        assertEquals(0, smallFlight.getAvailableSeats());
+        
+        reservationManager.cancelReservation(second.getReservationId());
+        awaitCondition(() -> laterGold.isConfirmed());
+        assertEquals("CONFIRMED", laterGold.getStatus());
+        assertTrue(reservationManager.isWaitlisted(basic));
+        assertEquals(2, reservationManager.getWaitlistPromotionCount());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Waitlist - Party That Does Not Fit Keeps Its Place While Smaller Ones Board")
+    void testWaitlist_HeadOfLineParty() throws InterruptedException {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 2, 150.0);
+        Reservation first = pendingReservation(smallFlight, "P100001");
+        Reservation second = pendingReservation(smallFlight, "P100002");
+        Reservation party = pendingReservation(smallFlight, "P100003");
+        reservationManager.addPassengerToReservation(party,
+            createPassenger("P100004", "Jane", "Doe", "jane@example.com", "1234567890", 28));
+        Reservation single = pendingReservation(smallFlight, "P100005");
+        Reservation walkUp = pendingReservation(smallFlight, "P100006");
+        reservationManager.confirmReservation(first, "PAY001");
+        reservationManager.confirmReservation(second, "PAY002");
+        reservationManager.addToWaitlist(party, "PAY003", 1);
+        reservationManager.addToWaitlist(single, "PAY005", 0);
+        
+        reservationManager.cancelReservation(first.getReservationId());
+        awaitCondition(() -> single.isConfirmed());
+        assertTrue(single.isConfirmed());
+        assertEquals("PENDING", party.getStatus());
+        assertEquals(1, reservationManager.getWaitlistSize(smallFlight));
+        
+        // a seat the waiting party cannot use does not stay empty
+        reservationManager.cancelReservation(second.getReservationId());
+        assertEquals(0, reservationManager.promoteWaitlist(smallFlight));
+        assertTrue(reservationManager.confirmReservation(walkUp, "PAY006"));
+        assertEquals(0, smallFlight.getAvailableSeats());
+        
+        reservationManager.cancelReservation(single.getReservationId());
+        reservationManager.cancelReservation(walkUp.getReservationId());
+        awaitCondition(() -> party.isConfirmed());
+        assertTrue(party.isConfirmed());
+        assertEquals(0, reservationManager.getWaitlistSize(smallFlight));
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Waitlist - Walk-Up Confirmation Serves the Waitlist First")
+    void testWaitlist_WalkUpAfterWaitlist() {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 1, 150.0);
+        Reservation waiting = pendingReservation(smallFlight, "P100001");
+        Reservation walkUp = pendingReservation(smallFlight, "P100002");
+        smallFlight.bookSeats(1);
+        reservationManager.addToWaitlist(waiting, "PAY001", 0);
+        
+        // the freed seat goes to the waitlist whether or not its promotion ran yet
+        smallFlight.cancelSeats(1);
+        assertFalse(reservationManager.confirmReservation(walkUp, "PAY002"));
+        assertTrue(waiting.isConfirmed());
+        assertEquals("PAY001", waiting.getPaymentId());
+        assertEquals(0, reservationManager.getWaitlistSize(smallFlight));
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Waitlist - Held Reservations Confirm Despite a Waitlist")
+    void testWaitlist_HeldReservationsNotBlocked() throws InterruptedException {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 2, 150.0);
+        Reservation party = pendingReservation(smallFlight, "P100001");
+        for (String passengerId : List.of("P100002", "P100003")) {
+            reservationManager.addPassengerToReservation(party,
+                createPassenger(passengerId, "Jane", "Doe", passengerId + "@example.com", "1234567890", 30));
+        }
+        reservationManager.enableSeatHolds(Duration.ofMinutes(15), Duration.ofSeconds(1));
+        Reservation first = pendingReservation(smallFlight, "P100004");
+        Reservation second = pendingReservation(smallFlight, "P100005");
+        assertEquals(0, smallFlight.getAvailableSeats());
+        reservationManager.addToWaitlist(party, "PAY001", 0);
+        
+        assertTrue(reservationManager.confirmReservation(first, "PAY004"));
+        // waitlisting a held reservation confirms it even though no seat is free
+        reservationManager.addToWaitlist(second, "PAY005", 0);
+        awaitCondition(() -> second.isConfirmed());
+        assertTrue(second.isConfirmed());
+        assertEquals(1, reservationManager.getWaitlistSize(smallFlight));
+        assertEquals(0, reservationManager.getActiveHoldCount());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Waitlist - Invalid Requests Throw")
+    void testWaitlist_Invalid() {
+        Reservation reservation = pendingReservation(testFlight, "P100001");
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> reservationManager.addToWaitlist(reservation, "PAY001", -1));
+        reservationManager.confirmReservation(reservation, "PAY001");
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.addToWaitlist(reservation, "PAY001", 0));
+        assertEquals("Only pending reservations can be waitlisted", exception.getMessage());
+        
+        Flight fullFlight = createFlight("FL002", "NYC", "SFO", 1, 150.0);
+        Reservation waiting = pendingReservation(fullFlight, "P100002");
+        fullFlight.bookSeats(1);
+        reservationManager.addToWaitlist(waiting, "PAY002", 0);
+        exception = assertThrows(IllegalStateException.class,
+            () -> reservationManager.addToWaitlist(waiting, "PAY002", 0));
+        assertEquals("Reservation is already waitlisted", exception.getMessage());
+        assertTrue(reservationManager.removeFromWaitlist(waiting));
+        assertFalse(reservationManager.removeFromWaitlist(waiting));
+        assertEquals(0, reservationManager.getWaitlistSize(fullFlight));
+        fullFlight.cancelSeats(1);
+        assertTrue(reservationManager.confirmReservation(waiting, "PAY002"));
+    }
+    
+    @Test
+    @Tag("slow")
+    @DisplayName("Concurrency - Racing Cancellations Promote Exactly the Freed Seats in Priority Order")
+    void testWaitlist_ConcurrentCancellations() throws Exception {
+        int seats = 100;
+        Flight flight = createFlight("FL900", "NYC", "LAX", seats, 200.0);
+        List<Reservation> booked = new ArrayList<>();
+        List<Reservation> waiting = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            booked.add(pendingReservation(flight, "P" + (100000 + i)));
+        }
+        for (int i = 0; i < 3 * seats; i++) {
+            waiting.add(pendingReservation(flight, "P" + (200000 + i)));
+        }
+        for (Reservation reservation : booked) {
+            assertTrue(reservationManager.confirmReservation(reservation, "PAY"));
+        }
+        for (int i = 0; i < waiting.size(); i++) {
+            reservationManager.addToWaitlist(waiting.get(i), "PAYW" + i, i % 3);
+        }
+        
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = offset; i < booked.size(); i += threads) {
+                        reservationManager.cancelReservation(booked.get(i).getReservationId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        awaitCondition(() -> reservationManager.getWaitlistPromotionCount() == seats);
+        
+        assertEquals(seats, reservationManager.getWaitlistPromotionCount());
+        assertEquals(0, flight.getAvailableSeats());
+        assertEquals(seats, reservationManager.getConfirmedReservations());
+        assertEquals(2 * seats, reservationManager.getWaitlistSize(flight));
+        // tier 2 requests are every third from index 2, and there are exactly 100 of them
+        for (int i = 0; i < waiting.size(); i++) {
+            assertEquals(i % 3 == 2, waiting.get(i).isConfirmed(), "waitlist position " + i);
+        }
+    }
+    
+    
+    // ==================== DENIED BOARDING TESTS ====================
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Denied Boarding - Volunteers First, Then Latest Bookings")
+    void testResolveDeniedBoarding() {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 4, 150.0);
+        smallFlight.setNoShowModel(new NoShowModel(0.5, 0.3));
+        assertEquals(6, smallFlight.getBookingCapacity());
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            reservations.add(pendingReservation(smallFlight, "P10000" + i));
+        }
+        for (Reservation reservation : reservations) {
+            assertTrue(reservationManager.confirmReservation(reservation, "PAY"));
+        }
+        assertEquals(2, smallFlight.getOverbookedSeats());
+        
+        List<Passenger> denied = reservationManager.resolveDeniedBoarding(smallFlight,
+            List.of("P100001", "P100002", "P100003", "P100004", "P100005", "P100006"), List.of("P100002", "P999999"));
+        assertEquals(List.of("P100002", "P100006"),
+            denied.stream().map(Passenger::getPassengerId).collect(Collectors.toList()));
+        assertEquals(2, reservationManager.getDeniedBoardingCount());
+        assertEquals("CANCELLED", reservations.get(1).getStatus());
+        assertEquals("CANCELLED", reservations.get(5).getStatus());
+        assertEquals(4, smallFlight.getBookedSeats());
+        assertEquals(0, smallFlight.getOverbookedSeats());
+        assertEquals(4, reservationManager.getConfirmedReservations());
+        
+        // settled once; the same check-in list denies no one again
+        assertTrue(reservationManager.resolveDeniedBoarding(smallFlight,
+            List.of("P100001", "P100002", "P100003", "P100004", "P100005", "P100006"), null).isEmpty());
+        assertEquals(2, reservationManager.getDeniedBoardingCount());
+    }
+    
+    @Test
+    @Tag("fast")
+    @DisplayName("Denied Boarding - Party Keeps Its Remaining Passengers")
+    void testResolveDeniedBoarding_PartialParty() {
+        Flight smallFlight = createFlight("FL002", "NYC", "SFO", 4, 150.0);
+        smallFlight.setNoShowModel(new NoShowModel(0.5, 0.3));
+        Reservation early = pendingReservation(smallFlight, "P100001");
+        Reservation party = pendingReservation(smallFlight, "P100002");
+        for (String passengerId : List.of("P100003", "P100004", "P100005")) {
+            reservationManager.addPassengerToReservation(party,
+                createPassenger(passengerId, "Jane", "Doe", passengerId + "@example.com", "1234567890", 30));
+        }
+        assertTrue(reservationManager.confirmReservation(early, "PAY001"));
+        assertTrue(reservationManager.confirmReservation(party, "PAY002"));
+        
+        // one no-show leaves one passenger over the seat count
+        List<Passenger> denied = reservationManager.resolveDeniedBoarding(smallFlight,
+            List.of("P100001", "P100002", "P100003", "P100004", "P100005"), null);
+        assertEquals(1, denied.size());
+        assertEquals("P100005", denied.get(0).getPassengerId());
+        assertTrue(party.isConfirmed());
+        assertEquals(3, party.getNumberOfPassengers());
+        assertEquals(450.0, party.getTotalPrice(), 0.001);
+        assertTrue(reservationManager.getReservationsByPassenger("P100005@example.com").isEmpty());
+        assertEquals(4, smallFlight.getBookedSeats());
+        
+        assertTrue(reservationManager.resolveDeniedBoarding(smallFlight,
+            List.of("P100001", "P100002", "P100003"), List.of("P100001")).isEmpty());
+        assertEquals(1, reservationManager.getDeniedBoardingCount());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package tests;
+
+import model.SeatMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Seat Map Test Suite")
+public class SeatMapTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // ==================== CONSTRUCTION TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Constructor - Invalid Layout Throws")
+    void testConstructor_InvalidLayout() {
+        assertEquals("Rows must be positive",
+            assertThrows(IllegalArgumentException.class, () -> new SeatMap(0, 6)).getMessage());
+        assertEquals("Seats per row must be between 1 and 26",
+            assertThrows(IllegalArgumentException.class, () -> new SeatMap(10, 27)).getMessage());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Set Cabin - Rows Assigned and Counted per Cabin")
+    void testSetCabin() {
+        SeatMap seatMap = new SeatMap(30, 6).setCabin(SeatMap.FIRST, 1, 2).setCabin(SeatMap.BUSINESS, 3, 6);
+
+        assertEquals(180, seatMap.getCapacity());
+        assertEquals(SeatMap.FIRST, seatMap.getCabin(2));
+        assertEquals(SeatMap.BUSINESS, seatMap.getCabin(3));
+        assertEquals(SeatMap.ECONOMY, seatMap.getCabin(7));
+        assertEquals(12, seatMap.getAvailableSeats(SeatMap.FIRST));
+        assertEquals(144, seatMap.getAvailableSeats(SeatMap.ECONOMY));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.setCabin("PREMIUM", 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.setCabin(SeatMap.FIRST, 5, 31));
+    }
+
+    // ==================== ALLOCATION TESTS ====================
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Allocate Adjacent - Finds First Free Run Across Rows")
+    void testAllocateAdjacent() {
+        SeatMap seatMap = new SeatMap(3, 6);
+        assertTrue(seatMap.allocate(List.of("1B", "1E")));
+
+        // row 1 has at most two adjacent free seats (C, D), so a group of three moves to row 2
+        assertEquals(List.of("1C", "1D"), seatMap.allocateAdjacent(2));
+        assertEquals(List.of("2A", "2B", "2C"), seatMap.allocateAdjacent(3));
+        assertEquals(List.of("2D", "2E", "2F"), seatMap.allocateAdjacent(3));
+        assertTrue(seatMap.allocateAdjacent(7).isEmpty());
+        assertEquals(8, seatMap.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Allocate Adjacent - Restricted to Cabin")
+    void testAllocateAdjacent_Cabin() {
+        SeatMap seatMap = new SeatMap(10, 4).setCabin(SeatMap.BUSINESS, 1, 2);
+
+        assertEquals(List.of("3A", "3B"), seatMap.allocateAdjacent(2, SeatMap.ECONOMY));
+        assertEquals(List.of("1A", "1B", "1C", "1D"), seatMap.allocateAdjacent(4, SeatMap.BUSINESS));
+        assertEquals(List.of("2A", "2B", "2C", "2D"), seatMap.allocateAdjacent(4, SeatMap.BUSINESS));
+        assertTrue(seatMap.allocateAdjacent(1, SeatMap.BUSINESS).isEmpty());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Allocate Any - Splits Group and Is All or Nothing")
+    void testAllocateAny() {
+        SeatMap seatMap = new SeatMap(2, 3);
+        assertTrue(seatMap.allocate(List.of("1B", "2B")));
+
+        assertTrue(seatMap.allocateAny(5, null).isEmpty());
+        assertEquals(4, seatMap.getAvailableSeats());
+        assertEquals(List.of("1A", "1C", "2A"), seatMap.allocateAny(3, null));
+        assertEquals(1, seatMap.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Allocate Specific Seats - Taken Seat Rolls Back Whole Request")
+    void testAllocate_RollsBack() {
+        SeatMap seatMap = new SeatMap(20, 6);
+        assertTrue(seatMap.allocate(List.of("14C")));
+
+        assertFalse(seatMap.allocate(List.of("2A", "9F", "14C")));
+        assertTrue(seatMap.isAvailable("2A"));
+        assertTrue(seatMap.isAvailable("9f"));
+        assertFalse(seatMap.isAvailable("14C"));
+        assertEquals(119, seatMap.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Allocate Specific Seats - Invalid or Duplicate Seat Throws")
+    void testAllocate_InvalidSeat() {
+        SeatMap seatMap = new SeatMap(20, 6);
+
+        assertEquals("Invalid seat: 21A",
+            assertThrows(IllegalArgumentException.class, () -> seatMap.allocate(List.of("21A"))).getMessage());
+        assertEquals("Invalid seat: 3G",
+            assertThrows(IllegalArgumentException.class, () -> seatMap.allocate(List.of("3G"))).getMessage());
+        assertEquals("Invalid seat: A",
+            assertThrows(IllegalArgumentException.class, () -> seatMap.allocate(List.of("A"))).getMessage());
+        assertEquals("Duplicate seat: 3A",
+            assertThrows(IllegalArgumentException.class, () -> seatMap.allocate(List.of("3A", "3A"))).getMessage());
+        assertEquals(120, seatMap.getAvailableSeats());
+    }
+
+    @Test
+    @Tag("fast")
+    @DisplayName("Release - Frees Seats and Rejects Unallocated Ones")
+    void testRelease() {
+        SeatMap seatMap = new SeatMap(5, 6);
+        List<String> seats = seatMap.allocateAdjacent(3);
+
+        seatMap.release(seats);
+        assertEquals(30, seatMap.getAvailableSeats());
+        assertEquals("Cannot release a seat that is not allocated",
+            assertThrows(IllegalArgumentException.class, () -> seatMap.release(seats)).getMessage());
+    }
+
+    // ==================== CONCURRENCY TESTS ====================
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Stress - Concurrent Allocations Never Share a Seat")
+    void testConcurrentAllocation_NoDoubleAssignment() throws Exception {
+        SeatMap seatMap = new SeatMap(60, 6);
+        Set<String> assigned = ConcurrentHashMap.newKeySet();
+        List<String> duplicates = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int groupSize = t % 3 + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    while (true) {
+                        List<String> seats = seatMap.allocateAdjacent(groupSize);
+                        if (seats.isEmpty()) {
+                            seats = seatMap.allocateAny(groupSize, null);
+                        }
+                        if (seats.isEmpty()) {
+                            return null;
+                        }
+                        for (String seat : seats) {
+                            if (!assigned.add(seat)) {
+                                synchronized (duplicates) {
+                                    duplicates.add(seat);
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(duplicates.isEmpty(), "Seats assigned twice: " + duplicates);
+        assertEquals(seatMap.getCapacity() - seatMap.getAvailableSeats(), assigned.size());
+        assertTrue(seatMap.getAvailableSeats() < 3);
+    }
+}
\ No newline at end of file